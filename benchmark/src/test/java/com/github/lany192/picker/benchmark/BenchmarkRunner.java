@@ -0,0 +1,161 @@
+package com.github.lany192.picker.benchmark;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Times benchmark scenarios and writes the results as JSON.
+ * <p>
+ * Every scenario is run a number of warmup iterations first, then each measured
+ * iteration is timed on its own so the report holds the distribution and not only
+ * the mean.
+ * </p>
+ */
+final class BenchmarkRunner {
+
+    /**
+     * The system property holding the path of the JSON report.
+     */
+    private static final String OUTPUT_PROPERTY = "picker.benchmark.output";
+
+    private static final String DEFAULT_OUTPUT = "build/benchmark-results/picker-benchmarks.json";
+
+    private final List<Result> mResults = new ArrayList<>();
+
+    /**
+     * A scenario, run once per iteration.
+     */
+    interface Scenario {
+        /**
+         * Runs the scenario once.
+         *
+         * @return The number of operations done, e.g. the scroll steps.
+         */
+        int run();
+    }
+
+    /**
+     * Prepares the state a scenario starts from, not timed.
+     */
+    interface Setup {
+        void setUp();
+    }
+
+    /**
+     * Runs and times a scenario.
+     *
+     * @param name       The name of the scenario in the report.
+     * @param warmup     The number of untimed iterations.
+     * @param iterations The number of timed iterations.
+     * @param setup      Restores the start state before every iteration.
+     * @param scenario   The scenario.
+     */
+    synchronized void run(String name, int warmup, int iterations, Setup setup, Scenario scenario) {
+        for (int i = 0; i < warmup; i++) {
+            setup.setUp();
+            scenario.run();
+        }
+        final long[] times = new long[iterations];
+        int operations = 0;
+        for (int i = 0; i < iterations; i++) {
+            setup.setUp();
+            final long start = System.nanoTime();
+            operations = scenario.run();
+            times[i] = System.nanoTime() - start;
+        }
+        mResults.add(new Result(name, operations, times));
+    }
+
+    /**
+     * Writes the results to the file named by the <code>picker.benchmark.output</code>
+     * system property.
+     *
+     * @return The written file.
+     */
+    synchronized File writeJson() throws IOException {
+        final File file = new File(System.getProperty(OUTPUT_PROPERTY, DEFAULT_OUTPUT));
+        final File parent = file.getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Can not create " + parent);
+        }
+        final StringBuilder json = new StringBuilder();
+        json.append("{\n  \"environment\": {");
+        appendProperty(json, "java.version", true);
+        appendProperty(json, "java.vm.name", false);
+        appendProperty(json, "os.name", false);
+        appendProperty(json, "os.arch", false);
+        json.append("\n  },\n  \"benchmarks\": [");
+        for (int i = 0; i < mResults.size(); i++) {
+            json.append(i == 0 ? "\n" : ",\n");
+            mResults.get(i).appendJson(json);
+        }
+        json.append("\n  ]\n}\n");
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(json.toString());
+        }
+        return file;
+    }
+
+    private static void appendProperty(StringBuilder json, String key, boolean first) {
+        json.append(first ? "\n" : ",\n").append("    ");
+        appendString(json, key);
+        json.append(": ");
+        appendString(json, System.getProperty(key, ""));
+    }
+
+    private static void appendString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                json.append('\\').append(c);
+            } else if (c < 0x20) {
+                json.append(String.format(Locale.US, "\\u%04x", (int) c));
+            } else {
+                json.append(c);
+            }
+        }
+        json.append('"');
+    }
+
+    private static final class Result {
+        private final String mName;
+        private final int mOperations;
+        private final long[] mTimes;
+
+        Result(String name, int operations, long[] times) {
+            mName = name;
+            mOperations = operations;
+            mTimes = times.clone();
+            Arrays.sort(mTimes);
+        }
+
+        void appendJson(StringBuilder json) {
+            long total = 0;
+            for (long time : mTimes) {
+                total += time;
+            }
+            final long mean = total / mTimes.length;
+            final long median = mTimes[mTimes.length / 2];
+            json.append("    {\"name\": ");
+            appendString(json, mName);
+            json.append(", \"iterations\": ").append(mTimes.length)
+                    .append(", \"operations\": ").append(mOperations)
+                    .append(", \"minNs\": ").append(mTimes[0])
+                    .append(", \"medianNs\": ").append(median)
+                    .append(", \"p90Ns\": ").append(mTimes[(int) (mTimes.length * 0.9)])
+                    .append(", \"maxNs\": ").append(mTimes[mTimes.length - 1])
+                    .append(", \"meanNs\": ").append(mean)
+                    .append(", \"medianNsPerOp\": ").append(median / Math.max(mOperations, 1))
+                    .append('}');
+        }
+    }
+}
@@ -0,0 +1,246 @@
+package com.github.lany192.picker.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import android.content.Context;
+import android.view.View;
+
+import com.github.lany192.picker.DatePicker;
+import com.github.lany192.picker.DateTimePicker;
+import com.github.lany192.picker.NumberPicker;
+import com.github.lany192.picker.R;
+import com.github.lany192.picker.WheelModel;
+
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.RuntimeEnvironment;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.util.Calendar;
+import java.util.Random;
+
+/**
+ * Reproducible benchmarks of the picker hot paths: scrolling a wheel, rebuilding the
+ * selector wheel, formatting labels and re-bounding the date columns.
+ * <p>
+ * Every scenario starts from the same state, scrolls by fixed steps and uses fixed
+ * seeds, so two runs differ only by the speed of the code. The composite pickers
+ * notify on every step so each one runs the whole recomputation synchronously. The
+ * results of all scenarios are written to one JSON report once the class is done.
+ * </p>
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 30)
+public class PickerBenchmarkTest {
+    private static final int WARMUP = 10;
+    private static final int ITERATIONS = 30;
+
+    /**
+     * The pixels scrolled per step, less than an item so steps also land between values.
+     */
+    private static final int STEP_PX = 23;
+
+    /**
+     * The max steps to wait for a value to change before the scenario is considered stuck.
+     */
+    private static final int MAX_STEPS_PER_VALUE = 1000;
+
+    private static final BenchmarkRunner sRunner = new BenchmarkRunner();
+
+    @AfterClass
+    public static void writeResults() throws IOException {
+        sRunner.writeJson();
+    }
+
+    /**
+     * A 1,000 step fling through a wrapping 0..59 wheel with two digit labels.
+     */
+    @Test
+    public void flingMinuteWheel() {
+        final NumberPicker picker = createMinutePicker();
+        sRunner.run("flingMinuteWheel", WARMUP, ITERATIONS,
+                () -> picker.setValue(0),
+                () -> {
+                    for (int i = 0; i < 1000; i++) {
+                        picker.scrollBy(0, -STEP_PX);
+                    }
+                    return 1000;
+                });
+    }
+
+    /**
+     * The same 1,000 step fling on the {@link WheelModel} alone, without the view.
+     */
+    @Test
+    public void flingWheelModel() {
+        final WheelModel wheel = new WheelModel(3);
+        wheel.setRange(0, 59, true);
+        wheel.setGeometry(100, -50);
+        sRunner.run("flingWheelModel", WARMUP, ITERATIONS,
+                () -> {
+                    wheel.resetOffset();
+                    wheel.fill(0);
+                },
+                () -> {
+                    for (int i = 0; i < 1000; i++) {
+                        wheel.offsetBy(-STEP_PX, true);
+                        while (wheel.takeNegativeStep(50)) {
+                            wheel.shiftForward();
+                            wheel.endNegativeStep();
+                        }
+                    }
+                    return 1000;
+                });
+    }
+
+    /**
+     * Jumps of a 0..59 wheel to pseudo random values, each rebuilding the selector wheel.
+     */
+    @Test
+    public void resetSelectorWheel() {
+        final NumberPicker picker = createMinutePicker();
+        final int[] values = new int[1000];
+        final Random random = new Random(42);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextInt(60);
+        }
+        sRunner.run("resetSelectorWheel", WARMUP, ITERATIONS,
+                () -> picker.setValue(0),
+                () -> {
+                    for (int value : values) {
+                        picker.setValue(value);
+                    }
+                    return values.length;
+                });
+    }
+
+    /**
+     * Formats the labels of a minute wheel with the shared two digit formatter and a
+     * pattern formatter.
+     */
+    @Test
+    public void formatLabels() {
+        final NumberPicker picker = new NumberPicker(getContext());
+        picker.setFormatter("%02d分");
+        final NumberPicker.Formatter patternFormatter = picker.getFormatter();
+        final NumberPicker.Formatter twoDigitFormatter = NumberPicker.getTwoDigitFormatter();
+        sRunner.run("formatLabels", WARMUP, ITERATIONS,
+                () -> {
+                },
+                () -> {
+                    int length = 0;
+                    for (int i = 0; i < 1000; i++) {
+                        length += twoDigitFormatter.format(i % 60).length();
+                        length += patternFormatter.format(i % 60).length();
+                    }
+                    assertTrue(length > 0);
+                    return 2000;
+                });
+    }
+
+    /**
+     * Steps the year column of a {@link DatePicker} from 1900 to 2100, every step
+     * re-bounding the month and day columns.
+     */
+    @Test
+    public void sweepYearColumn() {
+        final DatePicker picker = new DatePicker(getContext());
+        picker.setMinDate(getTimeInMillis(1900, Calendar.JANUARY, 1));
+        picker.setMaxDate(getTimeInMillis(2100, Calendar.DECEMBER, 31));
+        picker.setValueChangeDispatch(NumberPicker.DISPATCH_EVERY_STEP);
+        layout(picker);
+        final NumberPicker yearPicker = picker.findViewById(R.id.year);
+        sRunner.run("sweepYearColumn", WARMUP, ITERATIONS,
+                () -> picker.init(1900, Calendar.JANUARY, 31),
+                () -> {
+                    int steps = 0;
+                    while (picker.getYear() < 2100) {
+                        steps += step(yearPicker);
+                    }
+                    return steps;
+                });
+        assertEquals(2100, picker.getYear());
+    }
+
+    /**
+     * Steps every column of a {@link DateTimePicker} through its range, from the
+     * minutes up to the years, each change recomputing the date and re-bounding the
+     * dependent columns.
+     */
+    @Test
+    public void cascadeDateTimePicker() {
+        final DateTimePicker picker = new DateTimePicker(getContext());
+        picker.setMinDate(getTimeInMillis(2000, Calendar.JANUARY, 1));
+        picker.setMaxDate(getTimeInMillis(2100, Calendar.DECEMBER, 31));
+        picker.setValueChangeDispatch(NumberPicker.DISPATCH_EVERY_STEP);
+        layout(picker);
+        final NumberPicker[] columns = {
+                picker.findViewById(R.id.minute),
+                picker.findViewById(R.id.hour),
+                picker.findViewById(R.id.day),
+                picker.findViewById(R.id.month),
+                picker.findViewById(R.id.year),
+        };
+        final int[] values = {60, 24, 31, 12, 20};
+        sRunner.run("cascadeDateTimePicker", WARMUP, ITERATIONS,
+                () -> picker.init(2000, Calendar.JANUARY, 31, 23, 59, 30),
+                () -> {
+                    int steps = 0;
+                    for (int i = 0; i < columns.length; i++) {
+                        for (int j = 0; j < values[i]; j++) {
+                            steps += step(columns[i]);
+                        }
+                    }
+                    return steps;
+                });
+    }
+
+    private static Context getContext() {
+        return RuntimeEnvironment.getApplication();
+    }
+
+    private static NumberPicker createMinutePicker() {
+        final NumberPicker picker = new NumberPicker(getContext());
+        picker.setMinValue(0);
+        picker.setMaxValue(59);
+        picker.setWrapSelectorWheel(true);
+        picker.setFormatter(NumberPicker.getTwoDigitFormatter());
+        return layout(picker);
+    }
+
+    private static <T extends View> T layout(T view) {
+        final int width = 1080;
+        final int height = 600;
+        view.measure(View.MeasureSpec.makeMeasureSpec(width, View.MeasureSpec.EXACTLY),
+                View.MeasureSpec.makeMeasureSpec(height, View.MeasureSpec.EXACTLY));
+        view.layout(0, 0, width, height);
+        return view;
+    }
+
+    /**
+     * Scrolls the wheel by fixed steps until its value changes.
+     *
+     * @return The number of scroll steps.
+     */
+    private static int step(NumberPicker picker) {
+        final int value = picker.getValue();
+        for (int steps = 1; steps <= MAX_STEPS_PER_VALUE; steps++) {
+            picker.scrollBy(0, -STEP_PX);
+            if (picker.getValue() != value) {
+                return steps;
+            }
+        }
+        throw new AssertionError("The value of the wheel does not change");
+    }
+
+    private static long getTimeInMillis(int year, int month, int dayOfMonth) {
+        final Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(year, month, dayOfMonth);
+        return calendar.getTimeInMillis();
+    }
+}
@@ -2,16 +2,23 @@ package com.github.lany192.picker;
 
 import android.content.Context;
 import android.content.res.Resources;
+import android.content.res.TypedArray;
 import android.graphics.Typeface;
 import android.util.AttributeSet;
 import android.util.TypedValue;
+import android.view.Gravity;
+import android.view.ViewGroup;
 import android.widget.FrameLayout;
+import android.widget.LinearLayout;
+import android.widget.TextView;
 
 import androidx.annotation.ColorInt;
 import androidx.annotation.ColorRes;
 import androidx.annotation.DimenRes;
+import androidx.annotation.IdRes;
 import androidx.annotation.StringRes;
 import androidx.core.content.ContextCompat;
+import androidx.core.view.ViewCompat;
 
 public abstract class BasePicker extends FrameLayout {
     protected final String TAG = getClass().getSimpleName();
@@ -20,22 +27,154 @@ public abstract class BasePicker extends FrameLayout {
      */
     protected final int SIZE_UNSPECIFIED = -1;
 
+    /**
+     * The margin around each NPicker in the layouts, in dp.
+     */
+    private static final int NPICKER_MARGIN = 4;
+
+    /**
+     * Flag whether the layout resource is inflated instead of building the same layout in code.
+     */
+    private boolean mInflateLayout = true;
+
+    /**
+     * Flag whether the NPickers built in code create their input text lazily.
+     */
+    private boolean mLazyInput;
+
     public BasePicker(Context context) {
         super(context);
     }
 
     public BasePicker(Context context, AttributeSet attrs) {
         super(context, attrs);
+        readAttributes(context, attrs, 0);
     }
 
     public BasePicker(Context context, AttributeSet attrs, int defStyleAttr) {
         super(context, attrs, defStyleAttr);
+        readAttributes(context, attrs, defStyleAttr);
+    }
+
+    @Override
+    public void invalidate() {
+        if (PickerMetrics.sEnabled) {
+            PickerMetrics.increment(PickerMetrics.INVALIDATE);
+        }
+        super.invalidate();
+    }
+
+    @Override
+    public void requestLayout() {
+        if (PickerMetrics.sEnabled) {
+            PickerMetrics.increment(PickerMetrics.REQUEST_LAYOUT);
+        }
+        super.requestLayout();
+    }
+
+    private void readAttributes(Context context, AttributeSet attrs, int defStyleAttr) {
+        final TypedArray attributes = context.obtainStyledAttributes(attrs,
+                R.styleable.BasePicker, defStyleAttr, 0);
+        mInflateLayout = attributes.getBoolean(R.styleable.BasePicker_picker_inflateLayout, true);
+        mLazyInput = attributes.getBoolean(R.styleable.BasePicker_picker_lazyInput, false);
+        attributes.recycle();
+    }
+
+    /**
+     * @return True if the subclass should inflate its layout resource, which apps may
+     * override, the default. False to build the same layout in code, which is much faster.
+     */
+    protected boolean isInflateLayout() {
+        return mInflateLayout;
+    }
+
+    /**
+     * Adds the horizontal container of the NPickers like the root of the layout resources.
+     *
+     * @param centered True if the NPickers are centered in the container.
+     * @return The container.
+     */
+    protected LinearLayout addNPickersLayout(boolean centered) {
+        final LinearLayout layout = new LinearLayout(getContext());
+        layout.setOrientation(LinearLayout.HORIZONTAL);
+        if (centered) {
+            layout.setGravity(Gravity.CENTER);
+        }
+        addView(layout, new LayoutParams(LayoutParams.WRAP_CONTENT, LayoutParams.WRAP_CONTENT,
+                Gravity.CENTER_HORIZONTAL));
+        return layout;
+    }
+
+    /**
+     * Adds a focusable NPicker with the margins of the layout resources.
+     *
+     * @param layout          The container of the NPickers.
+     * @param id              The id of the NPicker in the layout resource.
+     * @param verticalMargins False if the NPicker only has horizontal margins.
+     * @return The NPicker.
+     */
+    protected NumberPicker addNPicker(LinearLayout layout, @IdRes int id, boolean verticalMargins) {
+        final NumberPicker picker = new NumberPicker(getContext(), null, 0, mLazyInput, false);
+        picker.setId(id);
+        picker.setFocusable(true);
+        picker.setFocusableInTouchMode(true);
+        final int margin = dp2px(NPICKER_MARGIN);
+        final LinearLayout.LayoutParams params = new LinearLayout.LayoutParams(
+                ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+        params.setMargins(margin, verticalMargins ? margin : 0, margin, verticalMargins ? margin : 0);
+        layout.addView(picker, params);
+        return picker;
+    }
+
+    /**
+     * Adds a divider text between two NPickers.
+     *
+     * @param layout The container of the NPickers.
+     * @param id     The id of the divider in the layout resource.
+     * @return The divider.
+     */
+    protected TextView addNPickerDivider(LinearLayout layout, @IdRes int id) {
+        final TextView divider = new TextView(getContext());
+        divider.setId(id);
+        ViewCompat.setImportantForAccessibility(divider, ViewCompat.IMPORTANT_FOR_ACCESSIBILITY_NO);
+        final LinearLayout.LayoutParams params = new LinearLayout.LayoutParams(
+                ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT);
+        params.gravity = Gravity.CENTER_VERTICAL;
+        layout.addView(divider, params);
+        return divider;
+    }
+
+    /**
+     * Prepares the picker to be reused for other data, e.g. when its row of a RecyclerView
+     * is recycled: scrolling in progress is stopped and the listener is dropped, while
+     * the layout, the ranges and the styles are kept. A value change held back by the
+     * dispatch policy of a column is notified to the old listener before it is dropped.
+     * Bind the new data afterwards.
+     * Does nothing by default, subclasses release their own state.
+     */
+    public void reset() {
     }
 
     public int dp2px(float dpValue) {
         return (int) TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, dpValue, Resources.getSystem().getDisplayMetrics());
     }
 
+    /**
+     * Notifies the value changes of the NPickers not dispatched yet, see
+     * {@link NumberPicker#setValueChangeDispatch(int)}.
+     */
+    protected void flushPendingValueChanges(NumberPicker... pickers) {
+        for (NumberPicker picker : pickers) {
+            picker.flushPendingValueChange();
+        }
+    }
+
+    protected void abortScroll(NumberPicker... pickers) {
+        for (NumberPicker picker : pickers) {
+            picker.abortScroll();
+        }
+    }
+
     protected void setAccessibilityDescriptionEnabled(boolean enabled, NumberPicker... pickers) {
         for (NumberPicker picker : pickers) {
             picker.setAccessibilityDescriptionEnabled(enabled);
@@ -287,4 +426,10 @@ public abstract class BasePicker extends FrameLayout {
             picker.setItemSpacing(itemSpacing);
         }
     }
+
+    protected void setValueChangeDispatch(@NumberPicker.ValueChangeDispatch int dispatch, NumberPicker... pickers) {
+        for (NumberPicker picker : pickers) {
+            picker.setValueChangeDispatch(dispatch);
+        }
+    }
 }
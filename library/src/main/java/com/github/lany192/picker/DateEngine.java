@@ -0,0 +1,41 @@
+package com.github.lany192.picker;
+
+/**
+ * The calendar arithmetic used by {@link DatePicker} and {@link DateTimePicker}.
+ * <p>
+ * Dates are exchanged as a year, a month <strong>starting from zero</strong> and a day
+ * of the month, or as an epoch day, the number of days since January 1, 1970. The
+ * epoch day is independent of the engine, so dates survive switching engines. Every
+ * year has twelve months.
+ * </p>
+ */
+public interface DateEngine {
+
+    /**
+     * Gets the number of days of the given month.
+     *
+     * @param year  The year.
+     * @param month The month <strong>starting from zero</strong>.
+     * @return The number of days.
+     */
+    int getDaysInMonth(int year, int month);
+
+    /**
+     * Converts a date to the number of days since January 1, 1970.
+     *
+     * @param year       The year.
+     * @param month      The month <strong>starting from zero</strong>.
+     * @param dayOfMonth The day of the month, within the month.
+     * @return The epoch day.
+     */
+    long toEpochDay(int year, int month, int dayOfMonth);
+
+    /**
+     * Converts the number of days since January 1, 1970 to a date.
+     *
+     * @param epochDay The epoch day.
+     * @param outDate  Receives the year, the month <strong>starting from zero</strong>
+     *                 and the day of the month, in that order.
+     */
+    void fromEpochDay(long epochDay, int[] outDate);
+}
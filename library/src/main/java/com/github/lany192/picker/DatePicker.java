@@ -50,15 +50,23 @@ public class DatePicker extends BasePicker {
     private Locale mCurrentLocale;
     private OnChangedListener mOnChangedListener;
     private String[] mShortMonths;
+    /**
+     * The month names last handed to the month NPicker, reused while its bounds are unchanged.
+     */
+    private String[] mMonthDisplayedValues;
+    private int mMonthDisplayedMin;
+    private int mMonthDisplayedMax;
     private int mNumberOfMonths;
 
-    private Calendar mTempDate;
+    private DateEngine mDateEngine = GregorianDateEngine.getInstance();
 
-    private Calendar mMinDate;
+    private final PickerDate mTempDate = new PickerDate();
 
-    private Calendar mMaxDate;
+    private final PickerDate mMinDate = new PickerDate();
 
-    private Calendar mCurrentDate;
+    private final PickerDate mMaxDate = new PickerDate();
+
+    private final PickerDate mCurrentDate = new PickerDate();
 
     private boolean mIsEnabled = DEFAULT_ENABLED_STATE;
 
@@ -81,41 +89,49 @@ public class DatePicker extends BasePicker {
         String minDate = "01/01/2021";
         String maxDate = "01/01/2121";
 
-        LayoutInflater.from(getContext()).inflate(R.layout.date_picker, this);
+        if (isInflateLayout()) {
+            LayoutInflater.from(getContext()).inflate(R.layout.date_picker, this);
+        } else {
+            LinearLayout layout = addNPickersLayout(true);
+            layout.setId(R.id.pickers);
+            addNPicker(layout, R.id.month, false);
+            addNPicker(layout, R.id.day, false);
+            addNPicker(layout, R.id.year, false);
+        }
 
         NumberPicker.OnValueChangeListener onChangeListener = new NumberPicker.OnValueChangeListener() {
             public void onValueChange(NumberPicker picker, int oldVal, int newVal) {
                 updateInputState();
-                mTempDate.setTimeInMillis(mCurrentDate.getTimeInMillis());
+                // the other NPickers may not have notified their changes yet
+                flushPendingValueChanges(mYearNPicker, mMonthNPicker, mDayNPicker);
+                mTempDate.set(mCurrentDate);
                 // take care of wrapping of days and months to update greater
                 // fields
                 if (picker == mDayNPicker) {
-                    int maxDayOfMonth = mTempDate
-                            .getActualMaximum(Calendar.DAY_OF_MONTH);
+                    int maxDayOfMonth = mDateEngine.getDaysInMonth(mTempDate.getYear(), mTempDate.getMonth());
                     if (oldVal == maxDayOfMonth && newVal == 1 && isAutoScrollState()) {
-                        mTempDate.add(Calendar.DAY_OF_MONTH, 1);
+                        mTempDate.addDays(mDateEngine, 1);
                     } else if (oldVal == 1 && newVal == maxDayOfMonth && isAutoScrollState()) {
-                        mTempDate.add(Calendar.DAY_OF_MONTH, -1);
+                        mTempDate.addDays(mDateEngine, -1);
                     } else {
-                        mTempDate.add(Calendar.DAY_OF_MONTH, newVal - oldVal);
+                        mTempDate.addDays(mDateEngine, newVal - oldVal);
                     }
                 } else if (picker == mMonthNPicker) {
-                    if (oldVal == 11 && newVal == 0 && isAutoScrollState()) {
-                        mTempDate.add(Calendar.MONTH, 1);
-                    } else if (oldVal == 0 && newVal == 11 && isAutoScrollState()) {
-                        mTempDate.add(Calendar.MONTH, -1);
+                    int maxMonth = mNumberOfMonths - 1;
+                    if (oldVal == maxMonth && newVal == 0 && isAutoScrollState()) {
+                        mTempDate.addMonths(mDateEngine, 1);
+                    } else if (oldVal == 0 && newVal == maxMonth && isAutoScrollState()) {
+                        mTempDate.addMonths(mDateEngine, -1);
                     } else {
-                        mTempDate.add(Calendar.MONTH, newVal - oldVal);
+                        mTempDate.addMonths(mDateEngine, newVal - oldVal);
                     }
                 } else if (picker == mYearNPicker) {
-                    mTempDate.set(Calendar.YEAR, newVal);
+                    mTempDate.set(mDateEngine, newVal, mTempDate.getMonth(), mTempDate.getDayOfMonth(), 0, 0, 0);
                 } else {
                     throw new IllegalArgumentException();
                 }
                 // now set the date to the adjusted one
-                setDate(mTempDate.get(Calendar.YEAR),
-                        mTempDate.get(Calendar.MONTH),
-                        mTempDate.get(Calendar.DAY_OF_MONTH));
+                setDate(mTempDate.getYear(), mTempDate.getMonth(), mTempDate.getDayOfMonth());
                 updateNPickers();
                 notifyDateChanged();
             }
@@ -142,30 +158,30 @@ public class DatePicker extends BasePicker {
         mYearNPicker.setOnChangedListener(onChangeListener);
 
         // set the min date giving priority of the minDate over startYear
-        mTempDate.clear();
         if (!TextUtils.isEmpty(minDate)) {
             if (!parseDate(minDate, mTempDate)) {
-                mTempDate.set(startYear, 0, 1);
+                mTempDate.set(mDateEngine, startYear, 0, 1, 0, 0, 0);
             }
         } else {
-            mTempDate.set(startYear, 0, 1);
+            mTempDate.set(mDateEngine, startYear, 0, 1, 0, 0, 0);
         }
-        setMinDate(mTempDate.getTimeInMillis());
+        // both bounds are applied at once by init(), the default max date is in 1970
+        // so applying the min date alone could invert the range
+        mMinDate.set(mTempDate);
 
         // set the max date giving priority of the maxDate over endYear
-        mTempDate.clear();
         if (!TextUtils.isEmpty(maxDate)) {
             if (!parseDate(maxDate, mTempDate)) {
-                mTempDate.set(endYear, 11, 31);
+                mTempDate.set(mDateEngine, endYear, 11, 31, 0, 0, 0);
             }
         } else {
-            mTempDate.set(endYear, 11, 31);
+            mTempDate.set(mDateEngine, endYear, 11, 31, 0, 0, 0);
         }
-        setMaxDate(mTempDate.getTimeInMillis());
+        mMaxDate.set(mTempDate);
 
         // initialize to current date
-        mCurrentDate.setTimeInMillis(System.currentTimeMillis());
-        init(mCurrentDate.get(Calendar.YEAR), mCurrentDate.get(Calendar.MONTH), mCurrentDate.get(Calendar.DAY_OF_MONTH));
+        mTempDate.setTimeInMillis(mDateEngine, System.currentTimeMillis());
+        init(mTempDate.getYear(), mTempDate.getMonth(), mTempDate.getDayOfMonth());
 
         // re-order the number NPickers to match the current date format
         reorderNPickers();
@@ -185,14 +201,20 @@ public class DatePicker extends BasePicker {
      * @param minDate The minimal supported date.
      */
     public void setMinDate(long minDate) {
-        mTempDate.setTimeInMillis(minDate);
-        if (mTempDate.get(Calendar.YEAR) == mMinDate.get(Calendar.YEAR)
-                && mTempDate.get(Calendar.DAY_OF_YEAR) != mMinDate.get(Calendar.DAY_OF_YEAR)) {
+        flushPendingValueChanges(mYearNPicker, mMonthNPicker, mDayNPicker);
+        mTempDate.setTimeInMillis(mDateEngine, minDate);
+        setMinDate(mTempDate);
+    }
+
+    private void setMinDate(PickerDate minDate) {
+        // only the day matters
+        minDate.setTime(0, 0, 0);
+        if (minDate.equals(mMinDate)) {
             return;
         }
-        mMinDate.setTimeInMillis(minDate);
-        if (mCurrentDate.before(mMinDate)) {
-            mCurrentDate.setTimeInMillis(mMinDate.getTimeInMillis());
+        mMinDate.set(minDate);
+        if (mCurrentDate.compareTo(mMinDate) < 0) {
+            mCurrentDate.set(mMinDate);
         }
         updateNPickers();
     }
@@ -206,16 +228,51 @@ public class DatePicker extends BasePicker {
      * @param maxDate The maximal supported date.
      */
     public void setMaxDate(long maxDate) {
-        mTempDate.setTimeInMillis(maxDate);
-        if (mTempDate.get(Calendar.YEAR) == mMaxDate.get(Calendar.YEAR)
-                && mTempDate.get(Calendar.DAY_OF_YEAR) != mMaxDate
-                .get(Calendar.DAY_OF_YEAR)) {
+        flushPendingValueChanges(mYearNPicker, mMonthNPicker, mDayNPicker);
+        mTempDate.setTimeInMillis(mDateEngine, maxDate);
+        setMaxDate(mTempDate);
+    }
+
+    private void setMaxDate(PickerDate maxDate) {
+        // only the day matters
+        maxDate.setTime(0, 0, 0);
+        if (maxDate.equals(mMaxDate)) {
             return;
         }
-        mMaxDate.setTimeInMillis(maxDate);
-        if (mCurrentDate.after(mMaxDate)) {
-            mCurrentDate.setTimeInMillis(mMaxDate.getTimeInMillis());
+        mMaxDate.set(maxDate);
+        if (mCurrentDate.compareTo(mMaxDate) > 0) {
+            mCurrentDate.set(mMaxDate);
+        }
+        updateNPickers();
+    }
+
+    /**
+     * Gets the calendar arithmetic used by this picker.
+     *
+     * @return The date engine.
+     */
+    public DateEngine getDateEngine() {
+        return mDateEngine;
+    }
+
+    /**
+     * Sets the calendar arithmetic used by this picker, the selected, minimal and
+     * maximal dates keep their day and are expressed in the new engine.
+     *
+     * @param dateEngine The date engine, {@link GregorianDateEngine} by default.
+     */
+    public void setDateEngine(DateEngine dateEngine) {
+        if (dateEngine == null) {
+            throw new IllegalArgumentException("dateEngine must not be null");
+        }
+        if (mDateEngine == dateEngine) {
+            return;
         }
+        flushPendingValueChanges(mYearNPicker, mMonthNPicker, mDayNPicker);
+        mDateEngine = dateEngine;
+        mMinDate.setEpochDay(dateEngine, mMinDate.getEpochDay());
+        mMaxDate.setEpochDay(dateEngine, mMaxDate.getEpochDay());
+        mCurrentDate.setEpochDay(dateEngine, mCurrentDate.getEpochDay());
         updateNPickers();
     }
 
@@ -321,34 +378,11 @@ public class DatePicker extends BasePicker {
 
         mCurrentLocale = locale;
 
-        mTempDate = getCalendarForLocale(mTempDate, locale);
-        mMinDate = getCalendarForLocale(mMinDate, locale);
-        mMaxDate = getCalendarForLocale(mMaxDate, locale);
-        mCurrentDate = getCalendarForLocale(mCurrentDate, locale);
-
-        mNumberOfMonths = mTempDate.getActualMaximum(Calendar.MONTH) + 1;
-        mShortMonths = new String[mNumberOfMonths];
-        for (int i = 0; i < mNumberOfMonths; i++) {
-            mShortMonths[i] = DateUtils.getMonthString(Calendar.JANUARY + i, DateUtils.LENGTH_MEDIUM);
-        }
-    }
-
-    /**
-     * Gets a calendar for locale bootstrapped with the value of a given
-     * calendar.
-     *
-     * @param oldCalendar The old calendar.
-     * @param locale      The locale.
-     */
-    private Calendar getCalendarForLocale(Calendar oldCalendar, Locale locale) {
-        if (oldCalendar == null) {
-            return Calendar.getInstance(locale);
-        } else {
-            final long currentTimeMillis = oldCalendar.getTimeInMillis();
-            Calendar newCalendar = Calendar.getInstance(locale);
-            newCalendar.setTimeInMillis(currentTimeMillis);
-            return newCalendar;
-        }
+        // Calendar.getInstance(locale) is always a GregorianCalendar on Android, the dates
+        // no longer follow the locale but are computed by mDateEngine, Gregorian by default
+        mNumberOfMonths = Calendar.DECEMBER + 1;
+        mShortMonths = PickerResources.getShortMonths();
+        mMonthDisplayedValues = null;
     }
 
     /**
@@ -393,6 +427,7 @@ public class DatePicker extends BasePicker {
      * @param dayOfMonth The day of the month.
      */
     public void updateDate(int year, int month, int dayOfMonth) {
+        flushPendingValueChanges(mYearNPicker, mMonthNPicker, mDayNPicker);
         if (!isNewDate(year, month, dayOfMonth)) {
             return;
         }
@@ -417,6 +452,7 @@ public class DatePicker extends BasePicker {
     protected void onRestoreInstanceState(Parcelable state) {
         SavedState ss = (SavedState) state;
         super.onRestoreInstanceState(ss.getSuperState());
+        flushPendingValueChanges(mYearNPicker, mMonthNPicker, mDayNPicker);
         setDate(ss.mYear, ss.mMonth, ss.mDay);
         updateNPickers();
     }
@@ -430,6 +466,7 @@ public class DatePicker extends BasePicker {
      * @param dayOfMonth  The initial day of the month.
      */
     public void init(int year, int monthOfYear, int dayOfMonth) {
+        flushPendingValueChanges(mYearNPicker, mMonthNPicker, mDayNPicker);
         setDate(year, monthOfYear, dayOfMonth);
         updateNPickers();
     }
@@ -441,10 +478,10 @@ public class DatePicker extends BasePicker {
      *
      * @return True if the date was parsed.
      */
-    private boolean parseDate(String date, Calendar outDate) {
+    private boolean parseDate(String date, PickerDate outDate) {
         try {
             SimpleDateFormat mDateFormat = new SimpleDateFormat("MM/dd/yyyy", Locale.getDefault());
-            outDate.setTime(Objects.requireNonNull(mDateFormat.parse(date)));
+            outDate.setTimeInMillis(mDateEngine, Objects.requireNonNull(mDateFormat.parse(date)).getTime());
             return true;
         } catch (ParseException e) {
             Log.w(TAG, "Date: " + date + " not in format: MM/dd/yyyy");
@@ -453,89 +490,129 @@ public class DatePicker extends BasePicker {
     }
 
     private boolean isNewDate(int year, int month, int dayOfMonth) {
-        return (mCurrentDate.get(Calendar.YEAR) != year
-                || mCurrentDate.get(Calendar.MONTH) != dayOfMonth
-                || mCurrentDate.get(Calendar.DAY_OF_MONTH) != month);
+        return (mCurrentDate.getYear() != year
+                || mCurrentDate.getMonth() != month
+                || mCurrentDate.getDayOfMonth() != dayOfMonth);
     }
 
     private void setDate(int year, int month, int dayOfMonth) {
-        mCurrentDate.set(year, month, dayOfMonth);
-        if (mCurrentDate.before(mMinDate)) {
-            mCurrentDate.setTimeInMillis(mMinDate.getTimeInMillis());
-        } else if (mCurrentDate.after(mMaxDate)) {
-            mCurrentDate.setTimeInMillis(mMaxDate.getTimeInMillis());
+        mCurrentDate.set(mDateEngine, year, month, dayOfMonth, 0, 0, 0);
+        final long key = mCurrentDate.getKey();
+        if (key < mMinDate.getKey()) {
+            mCurrentDate.set(mMinDate);
+        } else if (key > mMaxDate.getKey()) {
+            mCurrentDate.set(mMaxDate);
         }
     }
 
     private void updateNPickers() {
+        final boolean traced = PickerTrace.beginSection("DatePicker#updateNPickers");
+        try {
+            updateNPickersImpl();
+        } finally {
+            PickerTrace.endSection(traced);
+        }
+    }
+
+    private void updateNPickersImpl() {
+        if (PickerMetrics.sEnabled) {
+            PickerMetrics.increment(PickerMetrics.UPDATE_NPICKERS);
+        }
         // set the NPicker ranges respecting the min and max dates
+        final int dayMin;
+        final int dayMax;
+        final int monthMin;
+        final int monthMax;
+        final boolean wrap;
+        final int year = mCurrentDate.getYear();
+        final int month = mCurrentDate.getMonth();
+        final int dayOfMonth = mCurrentDate.getDayOfMonth();
+        final int daysInMonth = mDateEngine.getDaysInMonth(year, month);
         if (mCurrentDate.equals(mMinDate)) {
-            mDayNPicker.setMinValue(mCurrentDate.get(Calendar.DAY_OF_MONTH));
-            mDayNPicker.setMaxValue(mCurrentDate.getActualMaximum(Calendar.DAY_OF_MONTH));
-            mDayNPicker.setWrapSelectorWheel(false);
-            mMonthNPicker.setDisplayedValues(null);
-            mMonthNPicker.setMinValue(mCurrentDate.get(Calendar.MONTH));
-            mMonthNPicker.setMaxValue(mCurrentDate.getActualMaximum(Calendar.MONTH));
-            mMonthNPicker.setWrapSelectorWheel(false);
+            dayMin = dayOfMonth;
+            dayMax = daysInMonth;
+            monthMin = month;
+            monthMax = mNumberOfMonths - 1;
+            wrap = false;
         } else if (mCurrentDate.equals(mMaxDate)) {
-            mDayNPicker.setMinValue(mCurrentDate.getActualMinimum(Calendar.DAY_OF_MONTH));
-            mDayNPicker.setMaxValue(mCurrentDate.get(Calendar.DAY_OF_MONTH));
-            mDayNPicker.setWrapSelectorWheel(false);
-            mMonthNPicker.setDisplayedValues(null);
-            mMonthNPicker.setMinValue(mCurrentDate.getActualMinimum(Calendar.MONTH));
-            mMonthNPicker.setMaxValue(mCurrentDate.get(Calendar.MONTH));
-            mMonthNPicker.setWrapSelectorWheel(false);
+            dayMin = 1;
+            dayMax = dayOfMonth;
+            monthMin = 0;
+            monthMax = month;
+            wrap = false;
         } else {
-            mDayNPicker.setMinValue(1);
-            mDayNPicker.setMaxValue(mCurrentDate.getActualMaximum(Calendar.DAY_OF_MONTH));
-            mDayNPicker.setWrapSelectorWheel(true);
-            mMonthNPicker.setDisplayedValues(null);
-            mMonthNPicker.setMinValue(0);
-            mMonthNPicker.setMaxValue(11);
-            mMonthNPicker.setWrapSelectorWheel(true);
+            dayMin = 1;
+            dayMax = daysInMonth;
+            monthMin = 0;
+            monthMax = mNumberOfMonths - 1;
+            wrap = true;
         }
 
         // make sure the month names are a zero based array
         // with the months in the month NPicker
-        String[] displayedValues = Arrays.copyOfRange(mShortMonths, mMonthNPicker.getMinValue(), mMonthNPicker.getMaxValue() + 1);
-        mMonthNPicker.setDisplayedValues(displayedValues);
+        String[] displayedValues = getMonthDisplayedValues(monthMin, monthMax);
 
+        // set the ranges and values in one pass per NPicker, a NPicker whose
+        // range is unchanged only gets its value updated and is not re-measured,
         // year NPicker range does not change based on the current date
-        mYearNPicker.setMinValue(mMinDate.get(Calendar.YEAR));
-        mYearNPicker.setMaxValue(mMaxDate.get(Calendar.YEAR));
-        mYearNPicker.setWrapSelectorWheel(false);
+        mDayNPicker.setRange(dayMin, dayMax, null, wrap, dayOfMonth);
+        mMonthNPicker.setRange(monthMin, monthMax, displayedValues, wrap, month);
+        mYearNPicker.setRange(mMinDate.getYear(), mMaxDate.getYear(), null, false, year);
+    }
 
-        // set the NPicker values
-        mYearNPicker.setValue(mCurrentDate.get(Calendar.YEAR));
-        mMonthNPicker.setValue(mCurrentDate.get(Calendar.MONTH));
-        mDayNPicker.setValue(mCurrentDate.get(Calendar.DAY_OF_MONTH));
+    /**
+     * Gets the month names between the given months, the same array is returned as long
+     * as the bounds do not change so the month NPicker can tell nothing changed.
+     *
+     * @param monthMin The first month inclusive.
+     * @param monthMax The last month inclusive.
+     * @return The month names.
+     */
+    private String[] getMonthDisplayedValues(int monthMin, int monthMax) {
+        if (mMonthDisplayedValues == null
+                || mMonthDisplayedMin != monthMin || mMonthDisplayedMax != monthMax) {
+            mMonthDisplayedValues = monthMin == 0 && monthMax == mShortMonths.length - 1
+                    ? mShortMonths : Arrays.copyOfRange(mShortMonths, monthMin, monthMax + 1);
+            mMonthDisplayedMin = monthMin;
+            mMonthDisplayedMax = monthMax;
+        }
+        return mMonthDisplayedValues;
     }
 
     /**
      * @return The selected year.
      */
     public int getYear() {
-        return mCurrentDate.get(Calendar.YEAR);
+        return mCurrentDate.getYear();
     }
 
     /**
      * @return The selected month.
      */
     public int getMonth() {
-        return mCurrentDate.get(Calendar.MONTH);
+        return mCurrentDate.getMonth();
     }
 
     /**
      * @return The selected day of month.
      */
     public int getDayOfMonth() {
-        return mCurrentDate.get(Calendar.DAY_OF_MONTH);
+        return mCurrentDate.getDayOfMonth();
     }
 
     /**
      * Notifies the listener, if such, for a change in the selected date.
      */
     private void notifyDateChanged() {
+        final boolean traced = PickerTrace.beginSection("DatePicker#notifyDateChanged");
+        try {
+            notifyDateChangedImpl();
+        } finally {
+            PickerTrace.endSection(traced);
+        }
+    }
+
+    private void notifyDateChangedImpl() {
         sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_SELECTED);
         if (mOnChangedListener != null) {
             mOnChangedListener.onChanged(this, getYear(), getMonth(), getDayOfMonth());
@@ -593,6 +670,24 @@ public class DatePicker extends BasePicker {
         mOnChangedListener = listener;
     }
 
+    @Override
+    public void reset() {
+        // a held back change of the aborted NPickers still reaches the old listener
+        abortScroll(mYearNPicker, mMonthNPicker, mDayNPicker);
+        mOnChangedListener = null;
+    }
+
+    /**
+     * Binds a reused picker to a date without notifying any listener, see {@link #reset()}.
+     *
+     * @param listener The listener of the bound date, may be null.
+     */
+    public void bind(int year, int month, int dayOfMonth, OnChangedListener listener) {
+        reset();
+        init(year, month, dayOfMonth);
+        mOnChangedListener = listener;
+    }
+
     /**
      * The callback used to indicate the user changes\d the date.
      */
@@ -839,4 +934,15 @@ public class DatePicker extends BasePicker {
     public void setItemSpacing(int itemSpacing) {
         super.setItemSpacing(itemSpacing, mYearNPicker, mMonthNPicker, mDayNPicker);
     }
+
+    /**
+     * Sets when the NPickers apply the values crossed by scrolling to the date,
+     * {@link NumberPicker#DISPATCH_EVERY_STEP} by default. {@link NumberPicker#DISPATCH_PER_FRAME}
+     * skips the updates of the intermediate dates of a fling.
+     *
+     * @param dispatch The dispatch policy, see {@link NumberPicker#setValueChangeDispatch(int)}.
+     */
+    public void setValueChangeDispatch(@NumberPicker.ValueChangeDispatch int dispatch) {
+        super.setValueChangeDispatch(dispatch, mYearNPicker, mMonthNPicker, mDayNPicker);
+    }
 }
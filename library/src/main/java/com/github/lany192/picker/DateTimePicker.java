@@ -17,6 +17,7 @@ import android.view.accessibility.AccessibilityEvent;
 import android.view.accessibility.AccessibilityNodeInfo;
 import android.view.inputmethod.EditorInfo;
 import android.view.inputmethod.InputMethodManager;
+import android.widget.LinearLayout;
 
 import androidx.annotation.ColorInt;
 import androidx.annotation.ColorRes;
@@ -49,17 +50,40 @@ public class DateTimePicker extends BasePicker {
     private Locale mCurrentLocale;
     private OnChangedListener mOnChangedListener;
     private String[] mShortMonths;
+    /**
+     * The month names last handed to the month NPicker, reused while its bounds are unchanged.
+     */
+    private String[] mMonthDisplayedValues;
+    private int mMonthDisplayedMin;
+    private int mMonthDisplayedMax;
     private int mNumberOfMonths;
 
-    private Calendar mTempDate;
-    private Calendar mMinDate;
-    private Calendar mMaxDate;
-    private Calendar mCurrentDate;
+    private DateEngine mDateEngine = GregorianDateEngine.getInstance();
+    private final PickerDate mTempDate = new PickerDate();
+    private final PickerDate mMinDate = new PickerDate();
+    private final PickerDate mMaxDate = new PickerDate();
+    private final PickerDate mCurrentDate = new PickerDate();
 
     private boolean mIsEnabled = true;
 
     private boolean mIsAutoScroll = DEFAULT_AUTO_SCROLL_STATE;
 
+    /**
+     * Flag whether change notifications are held back while a NPicker scrolls.
+     */
+    private boolean mDeferChangesWhileScrolling;
+
+    /**
+     * The NPickers currently scrolling, one bit per NPicker, cleared when they report idle
+     * and when the picker is reset or detached.
+     */
+    private int mScrollingNPickers;
+
+    /**
+     * Flag whether a change notification was held back.
+     */
+    private boolean mDateChangePending;
+
     public DateTimePicker(Context context) {
         super(context);
         init(null);
@@ -76,7 +100,17 @@ public class DateTimePicker extends BasePicker {
     }
 
     public void init(AttributeSet attrs) {
-        LayoutInflater.from(getContext()).inflate(R.layout.date_time_picker, this);
+        if (isInflateLayout()) {
+            LayoutInflater.from(getContext()).inflate(R.layout.date_time_picker, this);
+        } else {
+            LinearLayout layout = addNPickersLayout(true);
+            addNPicker(layout, R.id.year, true);
+            addNPicker(layout, R.id.month, true);
+            addNPicker(layout, R.id.day, true);
+            addNPicker(layout, R.id.hour, true);
+            addNPicker(layout, R.id.minute, true);
+            addNPicker(layout, R.id.second, true);
+        }
         setCurrentLocale(Locale.getDefault());
         int startYear = DEFAULT_START_YEAR;
         int endYear = DEFAULT_END_YEAR;
@@ -86,47 +120,68 @@ public class DateTimePicker extends BasePicker {
         NumberPicker.OnValueChangeListener onChangeListener = new NumberPicker.OnValueChangeListener() {
             public void onValueChange(NumberPicker picker, int oldValue, int newValue) {
                 updateInputState();
-                mTempDate.setTimeInMillis(mCurrentDate.getTimeInMillis());
+                // the other NPickers may not have notified their changes yet
+                flushPendingValueChanges(mYearNPicker, mMonthNPicker, mDayNPicker, mHourNPicker,
+                        mMinuteNPicker, mSecondNPicker);
+                mTempDate.set(mCurrentDate);
                 // take care of wrapping of days and months to update greater
                 // fields
                 if (picker == mDayNPicker) {
-                    int maxDayOfMonth = mTempDate
-                            .getActualMaximum(Calendar.DAY_OF_MONTH);
+                    int maxDayOfMonth = mDateEngine.getDaysInMonth(mTempDate.getYear(), mTempDate.getMonth());
                     if (oldValue == maxDayOfMonth && newValue == 1 && isAutoScrollState()) {
-                        mTempDate.add(Calendar.DAY_OF_MONTH, 1);
+                        mTempDate.addDays(mDateEngine, 1);
                     } else if (oldValue == 1 && newValue == maxDayOfMonth && isAutoScrollState()) {
-                        mTempDate.add(Calendar.DAY_OF_MONTH, -1);
+                        mTempDate.addDays(mDateEngine, -1);
                     } else {
-                        mTempDate.add(Calendar.DAY_OF_MONTH, newValue - oldValue);
+                        mTempDate.addDays(mDateEngine, newValue - oldValue);
                     }
                 } else if (picker == mMonthNPicker) {
-                    if (oldValue == 11 && newValue == 0 && isAutoScrollState()) {
-                        mTempDate.add(Calendar.MONTH, 1);
-                    } else if (oldValue == 0 && newValue == 11 && isAutoScrollState()) {
-                        mTempDate.add(Calendar.MONTH, -1);
+                    int maxMonth = mNumberOfMonths - 1;
+                    if (oldValue == maxMonth && newValue == 0 && isAutoScrollState()) {
+                        mTempDate.addMonths(mDateEngine, 1);
+                    } else if (oldValue == 0 && newValue == maxMonth && isAutoScrollState()) {
+                        mTempDate.addMonths(mDateEngine, -1);
                     } else {
-                        mTempDate.add(Calendar.MONTH, newValue - oldValue);
+                        mTempDate.addMonths(mDateEngine, newValue - oldValue);
                     }
                 } else if (picker == mYearNPicker) {
-                    mTempDate.set(Calendar.YEAR, newValue);
+                    mTempDate.set(mDateEngine, newValue, mTempDate.getMonth(), mTempDate.getDayOfMonth(),
+                            mTempDate.getHourOfDay(), mTempDate.getMinute(), mTempDate.getSecond());
                 } else if (picker == mHourNPicker) {
-                    mTempDate.set(Calendar.HOUR_OF_DAY, newValue);
+                    mTempDate.setTime(newValue, mTempDate.getMinute(), mTempDate.getSecond());
                 } else if (picker == mMinuteNPicker) {
-                    mTempDate.set(Calendar.MINUTE, newValue);
+                    mTempDate.setTime(mTempDate.getHourOfDay(), newValue, mTempDate.getSecond());
                 } else if (picker == mSecondNPicker) {
-                    mTempDate.set(Calendar.SECOND, newValue);
+                    mTempDate.setTime(mTempDate.getHourOfDay(), mTempDate.getMinute(), newValue);
                 } else {
                     throw new IllegalArgumentException();
                 }
                 // now set the date to the adjusted one
-                setDate(mTempDate.get(Calendar.YEAR),
-                        mTempDate.get(Calendar.MONTH),
-                        mTempDate.get(Calendar.DAY_OF_MONTH),
-                        mTempDate.get(Calendar.HOUR_OF_DAY),
-                        mTempDate.get(Calendar.MINUTE),
-                        mTempDate.get(Calendar.SECOND));
+                setDate(mTempDate.getYear(),
+                        mTempDate.getMonth(),
+                        mTempDate.getDayOfMonth(),
+                        mTempDate.getHourOfDay(),
+                        mTempDate.getMinute(),
+                        mTempDate.getSecond());
                 updateNPickers();
-                notifyDateChanged();
+                if (mDeferChangesWhileScrolling && mScrollingNPickers != 0) {
+                    mDateChangePending = true;
+                } else {
+                    notifyDateChanged();
+                }
+            }
+        };
+        NumberPicker.OnScrollListener onScrollListener = new NumberPicker.OnScrollListener() {
+            @Override
+            public void onScrollStateChange(NumberPicker view, int scrollState) {
+                if (scrollState == SCROLL_STATE_IDLE) {
+                    mScrollingNPickers &= ~getNPickerBit(view);
+                } else {
+                    mScrollingNPickers |= getNPickerBit(view);
+                }
+                if (mScrollingNPickers == 0) {
+                    notifyPendingDateChanged();
+                }
             }
         };
         // year
@@ -170,36 +225,43 @@ public class DateTimePicker extends BasePicker {
         mSecondNPicker.setOnChangedListener(onChangeListener);
         mSecondNPicker.setImeOptions(EditorInfo.IME_ACTION_DONE);
 
+        mYearNPicker.setOnScrollListener(onScrollListener);
+        mMonthNPicker.setOnScrollListener(onScrollListener);
+        mDayNPicker.setOnScrollListener(onScrollListener);
+        mHourNPicker.setOnScrollListener(onScrollListener);
+        mMinuteNPicker.setOnScrollListener(onScrollListener);
+        mSecondNPicker.setOnScrollListener(onScrollListener);
+
         // set the min date giving priority of the minDate over startYear
-        mTempDate.clear();
         if (!TextUtils.isEmpty(minDate)) {
             if (!parseDate(minDate, mTempDate)) {
-                mTempDate.set(startYear, 0, 1);
+                mTempDate.set(mDateEngine, startYear, 0, 1, 0, 0, 0);
             }
         } else {
-            mTempDate.set(startYear, 0, 1);
+            mTempDate.set(mDateEngine, startYear, 0, 1, 0, 0, 0);
         }
-        setMinDate(mTempDate.getTimeInMillis());
+        // both bounds are applied at once by init(), the default max date is in 1970
+        // so applying the min date alone could invert the range
+        mMinDate.set(mTempDate);
 
         // set the max date giving priority of the maxDate over endYear
-        mTempDate.clear();
         if (!TextUtils.isEmpty(maxDate)) {
             if (!parseDate(maxDate, mTempDate)) {
-                mTempDate.set(endYear, 11, 31);
+                mTempDate.set(mDateEngine, endYear, 11, 31, 0, 0, 0);
             }
         } else {
-            mTempDate.set(endYear, 11, 31);
+            mTempDate.set(mDateEngine, endYear, 11, 31, 0, 0, 0);
         }
-        setMaxDate(mTempDate.getTimeInMillis());
+        mMaxDate.set(mTempDate);
 
         // initialize to current date
-        mCurrentDate.setTimeInMillis(System.currentTimeMillis());
-        init(mCurrentDate.get(Calendar.YEAR),
-                mCurrentDate.get(Calendar.MONTH),
-                mCurrentDate.get(Calendar.DAY_OF_MONTH),
-                mCurrentDate.get(Calendar.HOUR_OF_DAY),
-                mCurrentDate.get(Calendar.MINUTE),
-                mCurrentDate.get(Calendar.SECOND));
+        mTempDate.setTimeInMillis(mDateEngine, System.currentTimeMillis());
+        init(mTempDate.getYear(),
+                mTempDate.getMonth(),
+                mTempDate.getDayOfMonth(),
+                mTempDate.getHourOfDay(),
+                mTempDate.getMinute(),
+                mTempDate.getSecond());
 
         // re-order the number NPickers to match the current date format
         reorderNPickers();
@@ -215,34 +277,90 @@ public class DateTimePicker extends BasePicker {
         mOnChangedListener = listener;
     }
 
+    @Override
+    public void reset() {
+        // the aborted NPickers report idle, a held back change still reaches the old listener
+        abortScroll(mYearNPicker, mMonthNPicker, mDayNPicker, mHourNPicker, mMinuteNPicker, mSecondNPicker);
+        clearScrollingNPickers();
+        mOnChangedListener = null;
+    }
+
+    /**
+     * Binds a reused picker to a date without notifying any listener, see {@link #reset()}.
+     *
+     * @param listener The listener of the bound date, may be null.
+     */
+    public void bind(int year, int month, int dayOfMonth, int hourOfDay, int minute, int second,
+                     OnChangedListener listener) {
+        reset();
+        init(year, month, dayOfMonth, hourOfDay, minute, second);
+        mOnChangedListener = listener;
+    }
+
     public void setMinDate(long minDate) {
-        mTempDate.setTimeInMillis(minDate);
-        if (mTempDate.get(Calendar.YEAR) == mMinDate.get(Calendar.YEAR)
-                && mTempDate.get(Calendar.DAY_OF_YEAR) != mMinDate
-                .get(Calendar.DAY_OF_YEAR)) {
+        flushPendingValueChanges(mYearNPicker, mMonthNPicker, mDayNPicker, mHourNPicker, mMinuteNPicker, mSecondNPicker);
+        mTempDate.setTimeInMillis(mDateEngine, minDate);
+        setMinDate(mTempDate);
+    }
+
+    private void setMinDate(PickerDate minDate) {
+        if (minDate.equals(mMinDate)) {
             return;
         }
-        mMinDate.setTimeInMillis(minDate);
-        if (mCurrentDate.before(mMinDate)) {
-            mCurrentDate.setTimeInMillis(mMinDate.getTimeInMillis());
+        mMinDate.set(minDate);
+        if (mCurrentDate.compareTo(mMinDate) < 0) {
+            mCurrentDate.set(mMinDate);
         }
         updateNPickers();
     }
 
     public void setMaxDate(long maxDate) {
-        mTempDate.setTimeInMillis(maxDate);
-        if (mTempDate.get(Calendar.YEAR) == mMaxDate.get(Calendar.YEAR)
-                && mTempDate.get(Calendar.DAY_OF_YEAR) != mMaxDate
-                .get(Calendar.DAY_OF_YEAR)) {
+        flushPendingValueChanges(mYearNPicker, mMonthNPicker, mDayNPicker, mHourNPicker, mMinuteNPicker, mSecondNPicker);
+        mTempDate.setTimeInMillis(mDateEngine, maxDate);
+        setMaxDate(mTempDate);
+    }
+
+    private void setMaxDate(PickerDate maxDate) {
+        if (maxDate.equals(mMaxDate)) {
             return;
         }
-        mMaxDate.setTimeInMillis(maxDate);
-        if (mCurrentDate.after(mMaxDate)) {
-            mCurrentDate.setTimeInMillis(mMaxDate.getTimeInMillis());
+        mMaxDate.set(maxDate);
+        if (mCurrentDate.compareTo(mMaxDate) > 0) {
+            mCurrentDate.set(mMaxDate);
         }
         updateNPickers();
     }
 
+    /**
+     * Gets the calendar arithmetic used by this picker.
+     *
+     * @return The date engine.
+     */
+    public DateEngine getDateEngine() {
+        return mDateEngine;
+    }
+
+    /**
+     * Sets the calendar arithmetic used by this picker, the selected, minimal and
+     * maximal dates keep their day and time and are expressed in the new engine.
+     *
+     * @param dateEngine The date engine, {@link GregorianDateEngine} by default.
+     */
+    public void setDateEngine(DateEngine dateEngine) {
+        if (dateEngine == null) {
+            throw new IllegalArgumentException("dateEngine must not be null");
+        }
+        if (mDateEngine == dateEngine) {
+            return;
+        }
+        flushPendingValueChanges(mYearNPicker, mMonthNPicker, mDayNPicker, mHourNPicker, mMinuteNPicker, mSecondNPicker);
+        mDateEngine = dateEngine;
+        mMinDate.setEpochDay(dateEngine, mMinDate.getEpochDay());
+        mMaxDate.setEpochDay(dateEngine, mMaxDate.getEpochDay());
+        mCurrentDate.setEpochDay(dateEngine, mCurrentDate.getEpochDay());
+        updateNPickers();
+    }
+
     @Override
     public boolean isEnabled() {
         return mIsEnabled;
@@ -267,6 +385,56 @@ public class DateTimePicker extends BasePicker {
         return mIsAutoScroll;
     }
 
+    public boolean isDeferChangesWhileScrolling() {
+        return mDeferChangesWhileScrolling;
+    }
+
+    /**
+     * Sets whether the {@link OnChangedListener} is notified only once all NPickers stopped
+     * scrolling, with the final date, instead of on every value crossed by a fling. The
+     * NPickers keep their ranges up to date while scrolling either way.
+     *
+     * @param defer True to notify once the scrolling settles.
+     */
+    public void setDeferChangesWhileScrolling(boolean defer) {
+        mDeferChangesWhileScrolling = defer;
+        if (!defer) {
+            notifyPendingDateChanged();
+        }
+    }
+
+    private void notifyPendingDateChanged() {
+        if (mDateChangePending) {
+            mDateChangePending = false;
+            notifyDateChanged();
+        }
+    }
+
+    /**
+     * Forgets the scrolling NPickers, e.g. when they stop without reporting idle, and
+     * notifies the held back change.
+     */
+    private void clearScrollingNPickers() {
+        mScrollingNPickers = 0;
+        notifyPendingDateChanged();
+    }
+
+    private int getNPickerBit(NumberPicker picker) {
+        if (picker == mYearNPicker) {
+            return 1;
+        } else if (picker == mMonthNPicker) {
+            return 1 << 1;
+        } else if (picker == mDayNPicker) {
+            return 1 << 2;
+        } else if (picker == mHourNPicker) {
+            return 1 << 3;
+        } else if (picker == mMinuteNPicker) {
+            return 1 << 4;
+        } else {
+            return 1 << 5;
+        }
+    }
+
     /**
      * Sets the automatic scrolling of items in the picker.
      */
@@ -303,6 +471,13 @@ public class DateTimePicker extends BasePicker {
         info.setClassName(DateTimePicker.class.getName());
     }
 
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        // a detached NPicker is not scrolled anymore and may never report idle
+        clearScrollingNPickers();
+    }
+
     @Override
     protected void onConfigurationChanged(Configuration newConfig) {
         super.onConfigurationChanged(newConfig);
@@ -314,27 +489,12 @@ public class DateTimePicker extends BasePicker {
             return;
         }
         mCurrentLocale = locale;
-        mTempDate = getCalendarForLocale(mTempDate, locale);
-        mMinDate = getCalendarForLocale(mMinDate, locale);
-        mMaxDate = getCalendarForLocale(mMaxDate, locale);
-        mCurrentDate = getCalendarForLocale(mCurrentDate, locale);
-
-        mNumberOfMonths = mTempDate.getActualMaximum(Calendar.MONTH) + 1;
-        mShortMonths = new String[mNumberOfMonths];
-        for (int i = 0; i < mNumberOfMonths; i++) {
-            mShortMonths[i] = DateUtils.getMonthString(Calendar.JANUARY + i, DateUtils.LENGTH_MEDIUM);
-        }
-    }
 
-    private Calendar getCalendarForLocale(Calendar oldCalendar, Locale locale) {
-        if (oldCalendar == null) {
-            return Calendar.getInstance(locale);
-        } else {
-            final long currentTimeMillis = oldCalendar.getTimeInMillis();
-            Calendar newCalendar = Calendar.getInstance(locale);
-            newCalendar.setTimeInMillis(currentTimeMillis);
-            return newCalendar;
-        }
+        // Calendar.getInstance(locale) is always a GregorianCalendar on Android, the dates
+        // no longer follow the locale but are computed by mDateEngine, Gregorian by default
+        mNumberOfMonths = Calendar.DECEMBER + 1;
+        mShortMonths = PickerResources.getShortMonths();
+        mMonthDisplayedValues = null;
     }
 
     private void reorderNPickers() {
@@ -372,6 +532,7 @@ public class DateTimePicker extends BasePicker {
     }
 
     public void updateDate(int year, int month, int dayOfMonth, int hourOfDay, int minute, int second) {
+        flushPendingValueChanges(mYearNPicker, mMonthNPicker, mDayNPicker, mHourNPicker, mMinuteNPicker, mSecondNPicker);
         if (!isNewDate(year, month, dayOfMonth, hourOfDay, minute, second)) {
             return;
         }
@@ -395,19 +556,21 @@ public class DateTimePicker extends BasePicker {
     protected void onRestoreInstanceState(Parcelable state) {
         SavedState ss = (SavedState) state;
         super.onRestoreInstanceState(ss.getSuperState());
+        flushPendingValueChanges(mYearNPicker, mMonthNPicker, mDayNPicker, mHourNPicker, mMinuteNPicker, mSecondNPicker);
         setDate(ss.mYear, ss.mMonth, ss.mDay, ss.mHour, ss.mMinute, ss.mSecond);
         updateNPickers();
     }
 
     public void init(int year, int monthOfYear, int dayOfMonth, int hourOfDay, int minute, int second) {
+        flushPendingValueChanges(mYearNPicker, mMonthNPicker, mDayNPicker, mHourNPicker, mMinuteNPicker, mSecondNPicker);
         setDate(year, monthOfYear, dayOfMonth, hourOfDay, minute, second);
         updateNPickers();
     }
 
-    private boolean parseDate(String date, Calendar outDate) {
+    private boolean parseDate(String date, PickerDate outDate) {
         try {
             SimpleDateFormat mDateFormat = new SimpleDateFormat("MM/dd/yyyy", Locale.getDefault());
-            outDate.setTime(Objects.requireNonNull(mDateFormat.parse(date)));
+            outDate.setTimeInMillis(mDateEngine, Objects.requireNonNull(mDateFormat.parse(date)).getTime());
             return true;
         } catch (ParseException e) {
             Log.w(TAG, "Date: " + date + " not in format: MM/dd/yyyy");
@@ -416,121 +579,149 @@ public class DateTimePicker extends BasePicker {
     }
 
     private boolean isNewDate(int year, int month, int dayOfMonth, int hourOfDay, int minute, int second) {
-        return (mCurrentDate.get(Calendar.YEAR) != year
-                || mCurrentDate.get(Calendar.MONTH) != dayOfMonth
-                || mCurrentDate.get(Calendar.DAY_OF_MONTH) != month
-                || mCurrentDate.get(Calendar.HOUR_OF_DAY) != hourOfDay
-                || mCurrentDate.get(Calendar.MINUTE) != minute
-                || mCurrentDate.get(Calendar.SECOND) != second);
+        return (mCurrentDate.getYear() != year
+                || mCurrentDate.getMonth() != month
+                || mCurrentDate.getDayOfMonth() != dayOfMonth
+                || mCurrentDate.getHourOfDay() != hourOfDay
+                || mCurrentDate.getMinute() != minute
+                || mCurrentDate.getSecond() != second);
     }
 
     private void setDate(int year, int month, int dayOfMonth, int hourOfDay, int minute, int second) {
-        mCurrentDate.set(year, month, dayOfMonth, hourOfDay, minute, second);
-        if (mCurrentDate.before(mMinDate)) {
-            mCurrentDate.setTimeInMillis(mMinDate.getTimeInMillis());
-        } else if (mCurrentDate.after(mMaxDate)) {
-            mCurrentDate.setTimeInMillis(mMaxDate.getTimeInMillis());
+        mCurrentDate.set(mDateEngine, year, month, dayOfMonth, hourOfDay, minute, second);
+        final long key = mCurrentDate.getKey();
+        if (key < mMinDate.getKey()) {
+            mCurrentDate.set(mMinDate);
+        } else if (key > mMaxDate.getKey()) {
+            mCurrentDate.set(mMaxDate);
         }
     }
 
     private void updateNPickers() {
+        final boolean traced = PickerTrace.beginSection("DateTimePicker#updateNPickers");
+        try {
+            updateNPickersImpl();
+        } finally {
+            PickerTrace.endSection(traced);
+        }
+    }
+
+    private void updateNPickersImpl() {
+        if (PickerMetrics.sEnabled) {
+            PickerMetrics.increment(PickerMetrics.UPDATE_NPICKERS);
+        }
+        final int dayMin;
+        final int dayMax;
+        final int monthMin;
+        final int monthMax;
+        final boolean wrap;
+        final int year = mCurrentDate.getYear();
+        final int month = mCurrentDate.getMonth();
+        final int dayOfMonth = mCurrentDate.getDayOfMonth();
+        final int daysInMonth = mDateEngine.getDaysInMonth(year, month);
         if (mCurrentDate.equals(mMinDate)) {
-            mDayNPicker.setMinValue(mCurrentDate.get(Calendar.DAY_OF_MONTH));
-            mDayNPicker.setMaxValue(mCurrentDate.getActualMaximum(Calendar.DAY_OF_MONTH));
-            mDayNPicker.setWrapSelectorWheel(false);
-            mMonthNPicker.setDisplayedValues(null);
-            mMonthNPicker.setMinValue(mCurrentDate.get(Calendar.MONTH));
-            mMonthNPicker.setMaxValue(mCurrentDate.getActualMaximum(Calendar.MONTH));
-            mMonthNPicker.setWrapSelectorWheel(false);
+            dayMin = dayOfMonth;
+            dayMax = daysInMonth;
+            monthMin = month;
+            monthMax = mNumberOfMonths - 1;
+            wrap = false;
         } else if (mCurrentDate.equals(mMaxDate)) {
-            mDayNPicker.setMinValue(mCurrentDate.getActualMinimum(Calendar.DAY_OF_MONTH));
-            mDayNPicker.setMaxValue(mCurrentDate.get(Calendar.DAY_OF_MONTH));
-            mDayNPicker.setWrapSelectorWheel(false);
-            mMonthNPicker.setDisplayedValues(null);
-            mMonthNPicker.setMinValue(mCurrentDate.getActualMinimum(Calendar.MONTH));
-            mMonthNPicker.setMaxValue(mCurrentDate.get(Calendar.MONTH));
-            mMonthNPicker.setWrapSelectorWheel(false);
+            dayMin = 1;
+            dayMax = dayOfMonth;
+            monthMin = 0;
+            monthMax = month;
+            wrap = false;
         } else {
-            mDayNPicker.setMinValue(1);
-            mDayNPicker.setMaxValue(mCurrentDate.getActualMaximum(Calendar.DAY_OF_MONTH));
-            mDayNPicker.setWrapSelectorWheel(true);
-            mMonthNPicker.setDisplayedValues(null);
-            mMonthNPicker.setMinValue(0);
-            mMonthNPicker.setMaxValue(11);
-            mMonthNPicker.setWrapSelectorWheel(true);
+            dayMin = 1;
+            dayMax = daysInMonth;
+            monthMin = 0;
+            monthMax = mNumberOfMonths - 1;
+            wrap = true;
         }
 
         // make sure the month names are a zero based array
         // with the months in the month NPicker
-        String[] displayedValues = Arrays.copyOfRange(mShortMonths, mMonthNPicker.getMinValue(), mMonthNPicker.getMaxValue() + 1);
-        mMonthNPicker.setDisplayedValues(displayedValues);
+        String[] displayedValues = getMonthDisplayedValues(monthMin, monthMax);
 
+        // set the ranges and values in one pass per NPicker, a NPicker whose
+        // range is unchanged only gets its value updated and is not re-measured,
         // year NPicker range does not change based on the current date
-        mYearNPicker.setMinValue(mMinDate.get(Calendar.YEAR));
-        mYearNPicker.setMaxValue(mMaxDate.get(Calendar.YEAR));
-        mYearNPicker.setWrapSelectorWheel(false);
-
-        mHourNPicker.setMinValue(0);
-        mHourNPicker.setMaxValue(23);
-        mHourNPicker.setWrapSelectorWheel(true);
-
-        mMinuteNPicker.setMinValue(0);
-        mMinuteNPicker.setMaxValue(59);
-        mMinuteNPicker.setWrapSelectorWheel(true);
-
-        mSecondNPicker.setMinValue(0);
-        mSecondNPicker.setMaxValue(59);
-        mSecondNPicker.setWrapSelectorWheel(true);
+        mDayNPicker.setRange(dayMin, dayMax, null, wrap, dayOfMonth);
+        mMonthNPicker.setRange(monthMin, monthMax, displayedValues, wrap, month);
+        mYearNPicker.setRange(mMinDate.getYear(), mMaxDate.getYear(), null, false, year);
+        mHourNPicker.setRange(0, 23, null, true, mCurrentDate.getHourOfDay());
+        mMinuteNPicker.setRange(0, 59, null, true, mCurrentDate.getMinute());
+        mSecondNPicker.setRange(0, 59, null, true, mCurrentDate.getSecond());
+    }
 
-        // set the NPicker values
-        mYearNPicker.setValue(mCurrentDate.get(Calendar.YEAR));
-        mMonthNPicker.setValue(mCurrentDate.get(Calendar.MONTH));
-        mDayNPicker.setValue(mCurrentDate.get(Calendar.DAY_OF_MONTH));
-        mHourNPicker.setValue(mCurrentDate.get(Calendar.HOUR_OF_DAY));
-        mMinuteNPicker.setValue(mCurrentDate.get(Calendar.MINUTE));
-        mSecondNPicker.setValue(mCurrentDate.get(Calendar.SECOND));
+    /**
+     * Gets the month names between the given months, the same array is returned as long
+     * as the bounds do not change so the month NPicker can tell nothing changed.
+     *
+     * @param monthMin The first month inclusive.
+     * @param monthMax The last month inclusive.
+     * @return The month names.
+     */
+    private String[] getMonthDisplayedValues(int monthMin, int monthMax) {
+        if (mMonthDisplayedValues == null
+                || mMonthDisplayedMin != monthMin || mMonthDisplayedMax != monthMax) {
+            mMonthDisplayedValues = monthMin == 0 && monthMax == mShortMonths.length - 1
+                    ? mShortMonths : Arrays.copyOfRange(mShortMonths, monthMin, monthMax + 1);
+            mMonthDisplayedMin = monthMin;
+            mMonthDisplayedMax = monthMax;
+        }
+        return mMonthDisplayedValues;
     }
 
     /**
      * @return The selected year.
      */
     public int getYear() {
-        return mCurrentDate.get(Calendar.YEAR);
+        return mCurrentDate.getYear();
     }
 
     /**
      * @return The selected month.
      */
     public int getMonth() {
-        return mCurrentDate.get(Calendar.MONTH);
+        return mCurrentDate.getMonth();
     }
 
     /**
      * @return The selected day of month.
      */
     public int getDayOfMonth() {
-        return mCurrentDate.get(Calendar.DAY_OF_MONTH);
+        return mCurrentDate.getDayOfMonth();
     }
 
     /**
      * @return The selected day of month.
      */
     public int getHourOfDay() {
-        return mCurrentDate.get(Calendar.HOUR_OF_DAY);
+        return mCurrentDate.getHourOfDay();
     }
 
     public int getMinute() {
-        return mCurrentDate.get(Calendar.MINUTE);
+        return mCurrentDate.getMinute();
     }
 
     public int getSecond() {
-        return mCurrentDate.get(Calendar.SECOND);
+        return mCurrentDate.getSecond();
     }
 
     /**
      * Notifies the listener, if such, for a change in the selected date.
      */
     private void notifyDateChanged() {
+        final boolean traced = PickerTrace.beginSection("DateTimePicker#notifyDateChanged");
+        try {
+            notifyDateChangedImpl();
+        } finally {
+            PickerTrace.endSection(traced);
+        }
+    }
+
+    private void notifyDateChangedImpl() {
         sendAccessibilityEvent(AccessibilityEvent.TYPE_VIEW_SELECTED);
         if (mOnChangedListener != null) {
             mOnChangedListener.onChanged(this, getYear(), getMonth(), getDayOfMonth(), getHourOfDay(), getMinute(), getSecond());
@@ -832,4 +1023,15 @@ public class DateTimePicker extends BasePicker {
     public void setItemSpacing(int itemSpacing) {
         super.setItemSpacing(itemSpacing, mYearNPicker, mMonthNPicker, mDayNPicker, mHourNPicker, mMinuteNPicker, mSecondNPicker);
     }
+
+    /**
+     * Sets when the NPickers apply the values crossed by scrolling to the date,
+     * {@link NumberPicker#DISPATCH_EVERY_STEP} by default. {@link NumberPicker#DISPATCH_PER_FRAME}
+     * skips the updates of the intermediate dates of a fling.
+     *
+     * @param dispatch The dispatch policy, see {@link NumberPicker#setValueChangeDispatch(int)}.
+     */
+    public void setValueChangeDispatch(@NumberPicker.ValueChangeDispatch int dispatch) {
+        super.setValueChangeDispatch(dispatch, mYearNPicker, mMonthNPicker, mDayNPicker, mHourNPicker, mMinuteNPicker, mSecondNPicker);
+    }
 }
\ No newline at end of file
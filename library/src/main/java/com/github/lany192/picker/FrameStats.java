@@ -0,0 +1,166 @@
+package com.github.lany192.picker;
+
+import java.util.Arrays;
+
+/**
+ * The frame timing of one scroll of a {@link NumberPicker}, from the touch or fling that
+ * starts it until the wheel is idle again, see {@link NumberPicker.OnFrameStatsListener}.
+ * <p>
+ * The times are kept in ring buffers of the last {@link #CAPACITY} frames, allocated
+ * once, so collecting them does not allocate. The percentiles are taken over those
+ * frames, the counts and max times over the whole scroll. An instance is reused for
+ * every scroll of its picker and must not be kept after the listener returns.
+ * </p>
+ */
+public final class FrameStats {
+
+    /**
+     * The number of frames whose times are kept, small enough for the sort of the
+     * percentiles not to allocate.
+     */
+    public static final int CAPACITY = 128;
+
+    private final long[] mDrawNanos = new long[CAPACITY];
+
+    private final long[] mComputeScrollNanos = new long[CAPACITY];
+
+    /**
+     * Scratch buffer of the percentiles.
+     */
+    private final long[] mSorted = new long[CAPACITY];
+
+    private int mFrameCount;
+
+    private int mComputeScrollCount;
+
+    private long mDrawMaxNanos;
+
+    private long mComputeScrollMaxNanos;
+
+    private long mDrawP50Nanos;
+
+    private long mDrawP95Nanos;
+
+    private long mComputeScrollP50Nanos;
+
+    private long mComputeScrollP95Nanos;
+
+    private int mValuesCrossed;
+
+    private int mCacheMisses;
+
+    FrameStats() {
+    }
+
+    void reset() {
+        mFrameCount = 0;
+        mComputeScrollCount = 0;
+        mDrawMaxNanos = 0;
+        mComputeScrollMaxNanos = 0;
+        mDrawP50Nanos = 0;
+        mDrawP95Nanos = 0;
+        mComputeScrollP50Nanos = 0;
+        mComputeScrollP95Nanos = 0;
+        mValuesCrossed = 0;
+        mCacheMisses = 0;
+    }
+
+    void recordDraw(long nanos) {
+        mDrawNanos[mFrameCount % CAPACITY] = nanos;
+        mDrawMaxNanos = Math.max(mDrawMaxNanos, nanos);
+        mFrameCount++;
+    }
+
+    void recordComputeScroll(long nanos) {
+        mComputeScrollNanos[mComputeScrollCount % CAPACITY] = nanos;
+        mComputeScrollMaxNanos = Math.max(mComputeScrollMaxNanos, nanos);
+        mComputeScrollCount++;
+    }
+
+    void recordValueCrossed() {
+        mValuesCrossed++;
+    }
+
+    void recordCacheMiss() {
+        mCacheMisses++;
+    }
+
+    /**
+     * Computes the percentiles once the scroll is done.
+     */
+    void finish() {
+        int count = Math.min(mFrameCount, CAPACITY);
+        System.arraycopy(mDrawNanos, 0, mSorted, 0, count);
+        Arrays.sort(mSorted, 0, count);
+        mDrawP50Nanos = percentile(count, 50);
+        mDrawP95Nanos = percentile(count, 95);
+
+        count = Math.min(mComputeScrollCount, CAPACITY);
+        System.arraycopy(mComputeScrollNanos, 0, mSorted, 0, count);
+        Arrays.sort(mSorted, 0, count);
+        mComputeScrollP50Nanos = percentile(count, 50);
+        mComputeScrollP95Nanos = percentile(count, 95);
+    }
+
+    private long percentile(int count, int percent) {
+        if (count == 0) {
+            return 0;
+        }
+        return mSorted[Math.min((count * percent + 99) / 100, count) - 1];
+    }
+
+    /**
+     * @return The number of frames drawn during the scroll.
+     */
+    public int getFrameCount() {
+        return mFrameCount;
+    }
+
+    public long getDrawP50Nanos() {
+        return mDrawP50Nanos;
+    }
+
+    public long getDrawP95Nanos() {
+        return mDrawP95Nanos;
+    }
+
+    public long getDrawMaxNanos() {
+        return mDrawMaxNanos;
+    }
+
+    public long getComputeScrollP50Nanos() {
+        return mComputeScrollP50Nanos;
+    }
+
+    public long getComputeScrollP95Nanos() {
+        return mComputeScrollP95Nanos;
+    }
+
+    public long getComputeScrollMaxNanos() {
+        return mComputeScrollMaxNanos;
+    }
+
+    /**
+     * @return The number of values the wheel moved through.
+     */
+    public int getValuesCrossed() {
+        return mValuesCrossed;
+    }
+
+    /**
+     * @return The number of labels that were not cached and had to be formatted.
+     */
+    public int getCacheMisses() {
+        return mCacheMisses;
+    }
+
+    @Override
+    public String toString() {
+        return "FrameStats{frames=" + mFrameCount
+                + ", draw p50/p95/max=" + mDrawP50Nanos + "/" + mDrawP95Nanos + "/" + mDrawMaxNanos
+                + "ns, computeScroll p50/p95/max=" + mComputeScrollP50Nanos + "/"
+                + mComputeScrollP95Nanos + "/" + mComputeScrollMaxNanos
+                + "ns, valuesCrossed=" + mValuesCrossed
+                + ", cacheMisses=" + mCacheMisses + "}";
+    }
+}
@@ -0,0 +1,75 @@
+package com.github.lany192.picker;
+
+/**
+ * A {@link DateEngine} for the proleptic Gregorian calendar, computed from the leap year
+ * rule and a table of the month lengths so no {@link java.util.Calendar} is involved.
+ */
+public final class GregorianDateEngine implements DateEngine {
+
+    private static final GregorianDateEngine INSTANCE = new GregorianDateEngine();
+
+    /**
+     * The days of each month in a common year.
+     */
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    /**
+     * The days before each month in a year starting in March, see {@link #toEpochDay}.
+     */
+    private static final int[] DAYS_BEFORE_MARCH_MONTH = {0, 31, 61, 92, 122, 153, 184, 214, 245, 275, 306, 337};
+
+    /**
+     * The days in a 400 year cycle.
+     */
+    private static final int DAYS_PER_CYCLE = 146097;
+
+    /**
+     * The days from 0000-03-01 to 1970-01-01.
+     */
+    private static final long DAYS_0000_TO_1970 = 719468L;
+
+    private GregorianDateEngine() {
+    }
+
+    public static GregorianDateEngine getInstance() {
+        return INSTANCE;
+    }
+
+    public static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    @Override
+    public int getDaysInMonth(int year, int month) {
+        if (month == 1 && isLeapYear(year)) {
+            return 29;
+        }
+        return DAYS_IN_MONTH[month];
+    }
+
+    @Override
+    public long toEpochDay(int year, int month, int dayOfMonth) {
+        // count years from March so the leap day is the last day of the year
+        final long y = month < 2 ? (long) year - 1 : year;
+        final int marchMonth = month < 2 ? month + 10 : month - 2;
+        final long era = (y >= 0 ? y : y - 399) / 400;
+        final long yearOfEra = y - era * 400;
+        final long dayOfYear = DAYS_BEFORE_MARCH_MONTH[marchMonth] + dayOfMonth - 1;
+        final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_CYCLE + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    @Override
+    public void fromEpochDay(long epochDay, int[] outDate) {
+        final long days = epochDay + DAYS_0000_TO_1970;
+        final long era = (days >= 0 ? days : days - DAYS_PER_CYCLE + 1) / DAYS_PER_CYCLE;
+        final int dayOfEra = (int) (days - era * DAYS_PER_CYCLE);
+        final int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final int marchMonth = (5 * dayOfYear + 2) / 153;
+        final int month = marchMonth < 10 ? marchMonth + 2 : marchMonth - 10;
+        outDate[0] = (int) (yearOfEra + era * 400 + (month < 2 ? 1 : 0));
+        outDate[1] = month;
+        outDate[2] = dayOfYear - DAYS_BEFORE_MARCH_MONTH[marchMonth] + 1;
+    }
+}
@@ -15,6 +15,7 @@ import android.view.accessibility.AccessibilityNodeInfo;
 import android.view.inputmethod.EditorInfo;
 import android.view.inputmethod.InputMethodManager;
 import android.widget.Button;
+import android.widget.LinearLayout;
 import android.widget.TextView;
 
 import androidx.annotation.ColorInt;
@@ -25,7 +26,6 @@ import androidx.core.content.ContextCompat;
 
 import com.github.lany192.picker.R;
 
-import java.text.DateFormatSymbols;
 import java.util.Calendar;
 import java.util.Locale;
 
@@ -76,7 +76,15 @@ public class HourMinutePicker extends BasePicker {
         // initialization based on locale
         setCurrentLocale(Locale.getDefault());
 
-        LayoutInflater.from(getContext()).inflate(R.layout.hour_minute_picker, this);
+        if (isInflateLayout()) {
+            LayoutInflater.from(getContext()).inflate(R.layout.hour_minute_picker, this);
+        } else {
+            LinearLayout layout = addNPickersLayout(false);
+            addNPicker(layout, R.id.hour, true);
+            addNPickerDivider(layout, R.id.divider);
+            addNPicker(layout, R.id.minute, true);
+            addNPicker(layout, R.id.amPm, true);
+        }
 
         // hour
         mHourNPicker = findViewById(R.id.hour);
@@ -136,7 +144,7 @@ public class HourMinutePicker extends BasePicker {
         mMinuteNPicker.setImeOptions(EditorInfo.IME_ACTION_NEXT);
 
         /* Get the localized am/pm strings and use them in the NPicker */
-        mAmPmStrings = new DateFormatSymbols().getAmPmStrings();
+        mAmPmStrings = PickerResources.getAmPmStrings(Locale.getDefault());
 
         // am/pm
         View amPmView = findViewById(R.id.amPm);
@@ -281,6 +289,31 @@ public class HourMinutePicker extends BasePicker {
         mOnChangedListener = OnChangedListener;
     }
 
+    @Override
+    public void reset() {
+        // a held back change of the aborted NPickers still reaches the old listener
+        if (mAmPmNPicker != null) {
+            abortScroll(mHourNPicker, mMinuteNPicker, mAmPmNPicker);
+        } else {
+            abortScroll(mHourNPicker, mMinuteNPicker);
+        }
+        mOnChangedListener = null;
+    }
+
+    /**
+     * Binds a reused picker to a time without notifying any listener, see {@link #reset()}.
+     *
+     * @param currentHour   The hour in the range (0-23).
+     * @param currentMinute The minute (0-59).
+     * @param listener      The listener of the bound time, may be null.
+     */
+    public void bind(int currentHour, int currentMinute, OnChangedListener listener) {
+        reset();
+        setCurrentHour(currentHour);
+        setCurrentMinute(currentMinute);
+        mOnChangedListener = listener;
+    }
+
     /**
      * @return The current hour in the range (0-23).
      */
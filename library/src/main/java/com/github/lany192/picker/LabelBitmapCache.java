@@ -0,0 +1,145 @@
+package com.github.lany192.picker;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.util.LruCache;
+
+/**
+ * Caches single line labels pre-rendered with one paint, one bitmap per label, so drawing
+ * a label is a bitmap blit instead of shaping its glyphs again on every frame.
+ * <p>
+ * The bitmaps are evicted in least recently used order once their total size exceeds
+ * the byte budget, and recycled when evicted. The cache must be cleared whenever the
+ * paint changes.
+ * </p>
+ */
+final class LabelBitmapCache {
+
+    private final Paint mTextPaint;
+
+    /**
+     * The labels are drawn at whole pixels, they are only filtered when scaled.
+     */
+    private final Paint mBitmapPaint = new Paint();
+
+    private final Paint.FontMetrics mFontMetrics = new Paint.FontMetrics();
+
+    private final LruCache<String, Entry> mEntries;
+
+    /**
+     * @param textPaint The paint the labels are rendered with.
+     * @param maxBytes  The budget of all bitmaps in bytes.
+     */
+    LabelBitmapCache(Paint textPaint, int maxBytes) {
+        mTextPaint = textPaint;
+        mEntries = new LruCache<String, Entry>(Math.max(maxBytes, 1)) {
+            @Override
+            protected int sizeOf(String key, Entry entry) {
+                return entry.getByteCount();
+            }
+
+            @Override
+            protected void entryRemoved(boolean evicted, String key, Entry oldEntry, Entry newEntry) {
+                if (oldEntry != newEntry) {
+                    oldEntry.mBitmap.recycle();
+                }
+            }
+        };
+    }
+
+    void resize(int maxBytes) {
+        mEntries.resize(Math.max(maxBytes, 1));
+    }
+
+    void clear() {
+        mEntries.evictAll();
+    }
+
+    /**
+     * @param scaled Whether the labels are drawn scaled, then the bitmaps are filtered.
+     */
+    void setScaled(boolean scaled) {
+        mBitmapPaint.setFilterBitmap(scaled);
+    }
+
+    /**
+     * Draws the text like {@link Canvas#drawText(String, float, float, Paint)} with the
+     * paint of this cache would, the label snapped to whole pixels.
+     *
+     * @return False if the text could not be rendered to a bitmap or its bitmap is larger
+     * than the budget, nothing was drawn.
+     */
+    boolean drawText(Canvas canvas, String text, float x, float y) {
+        Entry entry = mEntries.get(text);
+        if (entry == null) {
+            entry = render(text);
+            if (entry == null) {
+                return false;
+            }
+            // putting a label larger than the budget would evict and recycle it at once
+            if (entry.getByteCount() > mEntries.maxSize()) {
+                entry.mBitmap.recycle();
+                return false;
+            }
+            mEntries.put(text, entry);
+        }
+        canvas.drawBitmap(entry.mBitmap, Math.round(x - entry.mOriginX),
+                Math.round(y - entry.mOriginY), mBitmapPaint);
+        return true;
+    }
+
+    private Entry render(String text) {
+        final Paint paint = mTextPaint;
+        paint.getFontMetrics(mFontMetrics);
+        final float textWidth = paint.measureText(text);
+        // leave room for glyphs overhanging their advance and for the underline
+        final int padding = (int) Math.ceil(paint.getTextSize() / 4);
+        final int width = (int) Math.ceil(textWidth) + 2 * padding;
+        final int height = (int) Math.ceil(mFontMetrics.bottom - mFontMetrics.top) + 2 * padding;
+        if (width <= 0 || height <= 0) {
+            return null;
+        }
+        final float originX;
+        switch (paint.getTextAlign()) {
+            case CENTER:
+                originX = padding + textWidth / 2;
+                break;
+            case RIGHT:
+                originX = padding + textWidth;
+                break;
+            case LEFT:
+            default:
+                originX = padding;
+                break;
+        }
+        final float originY = padding - mFontMetrics.top;
+        final Bitmap bitmap;
+        try {
+            bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        } catch (OutOfMemoryError e) {
+            return null;
+        }
+        new Canvas(bitmap).drawText(text, originX, originY, paint);
+        return new Entry(bitmap, originX, originY);
+    }
+
+    private static final class Entry {
+        final Bitmap mBitmap;
+        /**
+         * The position of the text anchor within the bitmap.
+         */
+        final float mOriginX;
+        final float mOriginY;
+
+        Entry(Bitmap bitmap, float originX, float originY) {
+            mBitmap = bitmap;
+            mOriginX = originX;
+            mOriginY = originY;
+        }
+
+        int getByteCount() {
+            return mBitmap.getRowBytes() * mBitmap.getHeight();
+        }
+    }
+}
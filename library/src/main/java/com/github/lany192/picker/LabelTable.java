@@ -0,0 +1,114 @@
+package com.github.lany192.picker;
+
+import android.util.SparseArray;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A process wide table of formatted wheel labels, shared by all pickers that use the
+ * same formatter in the same locale, so strings like "00".."59" or the years are built
+ * once instead of once per picker.
+ * <p>
+ * Only formatters known to be pure functions of the value and locale are shared: the
+ * default locale number format, {@link NumberPicker#getTwoDigitFormatter()} and the
+ * pattern formatters created from format strings. Only the tables used last are kept,
+ * a picker holds on to its table so an evicted table lives as long as its pickers.
+ * </p>
+ */
+final class LabelTable {
+
+    /**
+     * The max number of labels kept per table, huge ranges are formatted on demand.
+     */
+    private static final int MAX_LABELS = 4096;
+
+    /**
+     * The key used for pickers without a formatter.
+     */
+    private static final Object DEFAULT_FORMAT_KEY = new Object();
+
+    /**
+     * The max number of tables kept, so new formatters and locales do not pile up.
+     */
+    private static final int MAX_TABLES = 16;
+
+    /**
+     * The tables in least recently used order.
+     */
+    private static final Map<Key, LabelTable> sTables =
+            new LinkedHashMap<Key, LabelTable>(MAX_TABLES, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Key, LabelTable> eldest) {
+                    return size() > MAX_TABLES;
+                }
+            };
+
+    private final SparseArray<String> mLabels = new SparseArray<>();
+
+    private LabelTable() {
+    }
+
+    /**
+     * Gets the shared table for the given formatter and locale.
+     *
+     * @param formatter The formatter of the picker, null for the default number format.
+     * @param locale    The locale the labels are formatted in.
+     * @return The shared table or null if labels of the formatter can not be shared.
+     */
+    static LabelTable obtain(NumberPicker.Formatter formatter, Locale locale) {
+        final Object formatterKey;
+        if (formatter == null) {
+            formatterKey = DEFAULT_FORMAT_KEY;
+        } else if (formatter == NumberPicker.getTwoDigitFormatter()
+                || formatter instanceof PatternFormatter) {
+            formatterKey = formatter;
+        } else {
+            return null;
+        }
+        final Key key = new Key(formatterKey, locale);
+        synchronized (sTables) {
+            LabelTable table = sTables.get(key);
+            if (table == null) {
+                table = new LabelTable();
+                sTables.put(key, table);
+            }
+            return table;
+        }
+    }
+
+    synchronized String get(int value) {
+        return mLabels.get(value);
+    }
+
+    synchronized void put(int value, String label) {
+        if (mLabels.size() < MAX_LABELS) {
+            mLabels.put(value, label);
+        }
+    }
+
+    private static final class Key {
+        private final Object mFormatterKey;
+        private final Locale mLocale;
+
+        Key(Object formatterKey, Locale locale) {
+            mFormatterKey = formatterKey;
+            mLocale = locale;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            final Key key = (Key) o;
+            return mFormatterKey.equals(key.mFormatterKey) && mLocale.equals(key.mLocale);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * mFormatterKey.hashCode() + mLocale.hashCode();
+        }
+    }
+}
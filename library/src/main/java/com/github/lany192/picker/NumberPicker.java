@@ -2,9 +2,11 @@ package com.github.lany192.picker;
 
 import android.content.Context;
 import android.content.res.Configuration;
+import android.content.res.Resources;
 import android.content.res.TypedArray;
 import android.graphics.Canvas;
 import android.graphics.Paint;
+import android.graphics.Rect;
 import android.graphics.Typeface;
 import android.graphics.drawable.ColorDrawable;
 import android.graphics.drawable.Drawable;
@@ -17,6 +19,7 @@ import android.util.AttributeSet;
 import android.util.DisplayMetrics;
 import android.util.SparseArray;
 import android.util.TypedValue;
+import android.view.Gravity;
 import android.view.KeyEvent;
 import android.view.LayoutInflater;
 import android.view.LayoutInflater.Filter;
@@ -25,7 +28,6 @@ import android.view.VelocityTracker;
 import android.view.View;
 import android.view.ViewConfiguration;
 import android.view.accessibility.AccessibilityEvent;
-import android.view.animation.DecelerateInterpolator;
 import android.view.inputmethod.EditorInfo;
 import android.widget.EditText;
 import android.widget.LinearLayout;
@@ -38,12 +40,14 @@ import androidx.annotation.DimenRes;
 import androidx.annotation.IntDef;
 import androidx.annotation.StringRes;
 import androidx.core.content.ContextCompat;
+import androidx.core.view.ViewCompat;
 
 import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.text.DecimalFormatSymbols;
 import java.text.NumberFormat;
 import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.lang.annotation.RetentionPolicy.SOURCE;
 
@@ -86,6 +90,24 @@ public class NumberPicker extends LinearLayout {
     public static final int SIDE_LINES = 0;
     public static final int UNDERLINE = 1;
 
+    @Retention(SOURCE)
+    @IntDef({DISPATCH_EVERY_STEP, DISPATCH_PER_FRAME, DISPATCH_ON_SETTLE})
+    public @interface ValueChangeDispatch {
+    }
+
+    /**
+     * Notify the value change listener of every value crossed while scrolling.
+     */
+    public static final int DISPATCH_EVERY_STEP = 0;
+    /**
+     * Notify the value change listener at most once per frame while scrolling.
+     */
+    public static final int DISPATCH_PER_FRAME = 1;
+    /**
+     * Notify the value change listener once the scrolling settles.
+     */
+    public static final int DISPATCH_ON_SETTLE = 2;
+
     /**
      * The default update interval during long press.
      */
@@ -171,53 +193,143 @@ public class NumberPicker extends LinearLayout {
      */
     private static final float DEFAULT_TEXT_SIZE = 16.0f;
 
+    /**
+     * The max number of labels of a {@link DisplayedValuesProvider} measured to compute
+     * the max width, larger ranges are sampled evenly. Displayed values set as an array
+     * are all measured.
+     */
+    private static final int MAX_MEASURED_DISPLAYED_VALUES = 512;
+
+    /**
+     * The default budget in bytes of the pre-rendered labels of one picker.
+     */
+    private static final int DEFAULT_TEXT_ATLAS_MAX_BYTES = 1024 * 1024;
+
     /**
      * The default line spacing multiplier of text.
      */
     private static final float DEFAULT_LINE_SPACING_MULTIPLIER = 1f;
 
     /**
-     * Use a custom NumberPicker formatting callback to use two-digit minutes
-     * strings like "01". Keeping a static formatter etc. is the most efficient
-     * way to do this; it avoids creating temporary objects on every call to
-     * format().
+     * The paint aligns indexed by {@link Align}, cached since {@link Paint.Align#values()}
+     * returns a new array on every call.
+     */
+    private static final Paint.Align[] PAINT_ALIGNS = Paint.Align.values();
+
+    /**
+     * The traced methods, indices of {@link #TRACE_METHODS}.
      */
-    private static class TwoDigitFormatter implements Formatter {
-        final StringBuilder mBuilder = new StringBuilder();
+    private static final int TRACE_DRAW = 0;
+    private static final int TRACE_SCROLL_BY = 1;
+    private static final int TRACE_COMPUTE_SCROLL = 2;
+    private static final int TRACE_MEASURE = 3;
+    private static final int TRACE_LAYOUT = 4;
+    private static final int TRACE_COMPUTE_MAX_WIDTH = 5;
 
-        char mZeroDigit;
-        java.util.Formatter mFmt;
+    private static final String[] TRACE_METHODS = {
+            "onDraw", "scrollBy", "computeScroll", "onMeasure", "onLayout", "tryComputeMaxWidth"
+    };
 
-        final Object[] mArgs = new Object[1];
+    /**
+     * Use a custom NumberPicker formatting callback to use two-digit minutes
+     * strings like "01". The labels "00".."99" are precomputed once per zero
+     * digit and the zero digits are cached per locale, so format() neither
+     * allocates nor locks in the common case and is safe to call from any thread.
+     */
+    static class TwoDigitFormatter implements Formatter {
 
-        TwoDigitFormatter() {
-            final Locale locale = Locale.getDefault();
-            init(locale);
+        /**
+         * The digits of a locale, immutable once published.
+         */
+        private static final class Digits {
+            final Locale mLocale;
+            final char mZeroDigit;
+            final String[] mLabels;
+
+            Digits(Locale locale, char zeroDigit, String[] labels) {
+                mLocale = locale;
+                mZeroDigit = zeroDigit;
+                mLabels = labels;
+            }
         }
 
-        private void init(Locale locale) {
-            mFmt = createFormatter(locale);
-            mZeroDigit = getZeroDigit(locale);
+        private static final ConcurrentHashMap<Locale, Digits> sDigits =
+                new ConcurrentHashMap<>();
+
+        private static final ConcurrentHashMap<Character, String[]> sLabels =
+                new ConcurrentHashMap<>();
+
+        /**
+         * The digits of the locale used last, read without locking.
+         */
+        private volatile Digits mDigits;
+
+        TwoDigitFormatter() {
+            mDigits = getDigits(Locale.getDefault());
         }
 
         public String format(int value) {
+            Digits digits = mDigits;
             final Locale currentLocale = Locale.getDefault();
-            if (mZeroDigit != getZeroDigit(currentLocale)) {
-                init(currentLocale);
+            if (digits.mLocale != currentLocale) {
+                digits = getDigits(currentLocale);
+                mDigits = digits;
             }
-            mArgs[0] = value;
-            mBuilder.delete(0, mBuilder.length());
-            mFmt.format("%02d", mArgs);
-            return mFmt.toString();
+            if (value >= 0 && value < 100) {
+                return digits.mLabels[value];
+            }
+            return formatSlow(value, digits.mZeroDigit);
         }
 
-        private static char getZeroDigit(Locale locale) {
-            // return LocaleData.get(locale).zeroDigit;
-            return new DecimalFormatSymbols(locale).getZeroDigit();
+        /**
+         * Gets the zero digit of a locale, creating its {@link DecimalFormatSymbols}
+         * only the first time the locale is seen.
+         */
+        static char getZeroDigit(Locale locale) {
+            return getDigits(locale).mZeroDigit;
+        }
+
+        private static Digits getDigits(Locale locale) {
+            Digits digits = sDigits.get(locale);
+            if (digits == null) {
+                // return LocaleData.get(locale).zeroDigit;
+                final char zeroDigit = new DecimalFormatSymbols(locale).getZeroDigit();
+                String[] labels = sLabels.get(zeroDigit);
+                if (labels == null) {
+                    labels = new String[100];
+                    for (int i = 0; i < labels.length; i++) {
+                        labels[i] = new String(new char[]{
+                                (char) (zeroDigit + i / 10), (char) (zeroDigit + i % 10)});
+                    }
+                    final String[] existing = sLabels.putIfAbsent(zeroDigit, labels);
+                    if (existing != null) {
+                        labels = existing;
+                    }
+                }
+                digits = new Digits(locale, zeroDigit, labels);
+                final Digits existing = sDigits.putIfAbsent(locale, digits);
+                if (existing != null) {
+                    digits = existing;
+                }
+            }
+            return digits;
         }
 
-        private java.util.Formatter createFormatter(Locale locale) {
-            return new java.util.Formatter(mBuilder, locale);
+        /**
+         * Formats values outside "00".."99" the way "%02d" does.
+         */
+        private static String formatSlow(int value, char zeroDigit) {
+            final char[] buffer = new char[12];
+            long magnitude = Math.abs((long) value);
+            int position = buffer.length;
+            do {
+                buffer[--position] = (char) (zeroDigit + (int) (magnitude % 10));
+                magnitude /= 10;
+            } while (magnitude != 0);
+            if (value < 0) {
+                buffer[--position] = '-';
+            }
+            return new String(buffer, position, buffer.length - position);
         }
     }
 
@@ -228,9 +340,27 @@ public class NumberPicker extends LinearLayout {
     }
 
     /**
-     * The text for showing the current value.
+     * The text for showing the current value, null until first focused in the lazy
+     * input mode.
+     */
+    private EditText mSelectedText;
+
+    /**
+     * Flag whether the input text is created on first focus, the wheel draws the
+     * selected value either way.
+     */
+    private final boolean mLazyInput;
+
+    /**
+     * The IME options of the input text.
+     */
+    private int mImeOptions = EditorInfo.IME_ACTION_NONE;
+
+    /**
+     * The font metrics of the input text, used to place the selected value when the
+     * input text is not created.
      */
-    private final EditText mSelectedText;
+    private final Paint.FontMetricsInt mSelectedTextFontMetrics = new Paint.FontMetricsInt();
 
     /**
      * The center X position of the selected text.
@@ -342,6 +472,12 @@ public class NumberPicker extends LinearLayout {
      */
     private String[] mDisplayedValues;
 
+    /**
+     * The provider of the values to be displayed instead the indices, wraps
+     * {@link #mDisplayedValues} if those were set.
+     */
+    private DisplayedValuesProvider mDisplayedValuesProvider;
+
     /**
      * Lower value of the range of numbers allowed for the NumberPicker
      */
@@ -372,6 +508,41 @@ public class NumberPicker extends LinearLayout {
      */
     private OnScrollListener mOnScrollListener;
 
+    /**
+     * Listener to be notified of the frame timing of every scroll.
+     */
+    private OnFrameStatsListener mOnFrameStatsListener;
+
+    /**
+     * The frame timing of the current scroll, created when a frame stats listener is set.
+     */
+    private FrameStats mFrameStats;
+
+    /**
+     * The column named in the trace sections, null for the name of the id.
+     */
+    private String mTraceTag;
+
+    /**
+     * The names of the trace sections by traced method, built when first traced.
+     */
+    private String[] mTraceSections;
+
+    /**
+     * When the value change listener is notified of values changed by scrolling.
+     */
+    private int mValueChangeDispatch = DISPATCH_EVERY_STEP;
+
+    /**
+     * Flag whether value changes are waiting to be dispatched as one.
+     */
+    private boolean mHasPendingValueChange;
+
+    /**
+     * The value before the pending value changes.
+     */
+    private int mPendingValueChangeFrom;
+
     /**
      * Formatter for for displaying the current value.
      */
@@ -387,6 +558,33 @@ public class NumberPicker extends LinearLayout {
      */
     private final SparseArray<String> mSelectorIndexToStringCache = new SparseArray<>();
 
+    /**
+     * The lines of the cached strings spanning multiple lines, split once when they
+     * enter the cache. Single line strings have no entry.
+     */
+    private final SparseArray<String[]> mSelectorIndexToLinesCache = new SparseArray<>();
+
+    /**
+     * The height of a line of a multi-line selected value, without the line spacing.
+     */
+    private float mSelectedTextLineHeight;
+
+    /**
+     * The height of a line of the other multi-line values, without the line spacing.
+     */
+    private float mTextLineHeight;
+
+    /**
+     * The process wide labels shared with other pickers using the same formatter,
+     * null if the formatter can not be shared.
+     */
+    private LabelTable mLabelTable;
+
+    /**
+     * The locale {@link #mLabelTable} was resolved for.
+     */
+    private Locale mLabelTableLocale;
+
     /**
      * The number of items show in the selector wheel.
      */
@@ -403,29 +601,48 @@ public class NumberPicker extends LinearLayout {
     private int mWheelMiddleItemIndex = mWheelItemCount / 2;
 
     /**
-     * The selector indices whose value are show by the selector.
+     * The wheel math: the selector indices whose value are show by the selector, the
+     * scroll offset and the size of the selector elements.
      */
-    private int[] mSelectorIndices = new int[mWheelItemCount];
+    private final WheelModel mWheel = new WheelModel(mWheelItemCount);
 
     /**
-     * The {@link Paint} for drawing the selector.
+     * Flag whether the selector indices and their cached strings are in sync with the
+     * current range, wrapping and formatting, so that a value change can shift them
+     * instead of rebuilding them.
+     */
+    private boolean mSelectorIndicesValid;
+
+    /**
+     * The {@link Paint} for measuring the selector.
      */
     private final Paint mSelectorWheelPaint;
 
     /**
-     * The size of a selector element (text + gap).
+     * The {@link Paint} for drawing the selected item of the selector.
+     */
+    private final Paint mSelectedTextPaint;
+
+    /**
+     * The {@link Paint} for drawing the other items of the selector.
      */
-    private int mSelectorElementSize;
+    private final Paint mTextPaint;
 
     /**
-     * The initial offset of the scroll selector.
+     * Reusable font metrics to avoid allocations when the paints change.
      */
-    private int mInitialScrollOffset = Integer.MIN_VALUE;
+    private final Paint.FontMetrics mFontMetrics = new Paint.FontMetrics();
 
     /**
-     * The current offset of the scroll selector.
+     * The offset from the item position to the baseline of the selected value, see
+     * {@link #getPaintCenterY}, updated with the paints.
      */
-    private int mCurrentScrollOffset;
+    private float mSelectedTextPaintCenterY;
+
+    /**
+     * The offset from the item position to the baseline of the other values.
+     */
+    private float mTextPaintCenterY;
 
     /**
      * The {@link Scroller} responsible for flinging the selector.
@@ -457,6 +674,11 @@ public class NumberPicker extends LinearLayout {
      */
     private ChangeCurrentByOneFromLongPressCommand mChangeCurrentByOneFromLongPressCommand;
 
+    /**
+     * Handle to the reusable command for dispatching the pending value changes.
+     */
+    private DispatchValueChangeCommand mDispatchValueChangeCommand;
+
     /**
      * The X position of the last down event.
      */
@@ -647,6 +869,26 @@ public class NumberPicker extends LinearLayout {
      */
     private int mItemSpacing = 0;
 
+    /**
+     * Flag whether the labels are pre-rendered to bitmaps and blitted when drawing.
+     */
+    private boolean mTextAtlasEnabled;
+
+    /**
+     * The budget in bytes of the pre-rendered labels, shared by both caches.
+     */
+    private int mTextAtlasMaxBytes = DEFAULT_TEXT_ATLAS_MAX_BYTES;
+
+    /**
+     * The pre-rendered labels of the selected item, created when the text atlas is enabled.
+     */
+    private LabelBitmapCache mSelectedLabelBitmaps;
+
+    /**
+     * The pre-rendered labels of the other items, created when the text atlas is enabled.
+     */
+    private LabelBitmapCache mLabelBitmaps;
+
     /**
      * Interface to listen for the picker scroll state.
      */
@@ -684,6 +926,21 @@ public class NumberPicker extends LinearLayout {
         void onScrollStateChange(NumberPicker view, @ScrollState int scrollState);
     }
 
+    /**
+     * Interface to listen for the frame timing of the picker scrolls.
+     */
+    public interface OnFrameStatsListener {
+
+        /**
+         * Called once a touch scroll or fling is done and the picker is idle again.
+         *
+         * @param picker The NumberPicker associated with this listener.
+         * @param stats  The frame timing of the scroll, reused for the next scroll so
+         *               it must not be kept after this call.
+         */
+        void onFrameStats(NumberPicker picker, FrameStats stats);
+    }
+
     /**
      * Interface used to format current value into a string for presentation.
      */
@@ -698,6 +955,40 @@ public class NumberPicker extends LinearLayout {
         String format(int value);
     }
 
+    /**
+     * Interface used to supply the values displayed instead of the indices on demand,
+     * so huge ranges do not have to be materialized as an array. Only the labels of the
+     * visible items are requested.
+     */
+    public interface DisplayedValuesProvider {
+
+        /**
+         * @return The number of displayed values, at least
+         * {@link #getMaxValue()} - {@link #getMinValue()} + 1.
+         */
+        int size();
+
+        /**
+         * Gets a displayed value.
+         *
+         * @param index The index starting from zero for {@link #getMinValue()}.
+         * @return The displayed value.
+         */
+        String get(int index);
+
+        /**
+         * Gets the widest displayed value, used to compute the max width instead of
+         * measuring the displayed values.
+         *
+         * @return The widest displayed value or <code>null</code> to let the picker
+         * measure all of them, or an even sample of them for large ranges, so the hint is
+         * needed if a rare label is much wider than the others.
+         */
+        default String maxWidthHint() {
+            return null;
+        }
+    }
+
     /**
      * Create a new number picker.
      *
@@ -725,6 +1016,36 @@ public class NumberPicker extends LinearLayout {
      * @param defStyle The default style to apply to this view.
      */
     public NumberPicker(Context context, AttributeSet attrs, int defStyle) {
+        this(context, attrs, defStyle, false);
+    }
+
+    /**
+     * Create a new number picker
+     *
+     * @param context   the application environment.
+     * @param attrs     a collection of attributes.
+     * @param defStyle  The default style to apply to this view.
+     * @param lazyInput True to create the input text only when the picker is first
+     *                  focused, also enabled by the <code>np_lazyInput</code> attribute.
+     */
+    public NumberPicker(Context context, AttributeSet attrs, int defStyle, boolean lazyInput) {
+        this(context, attrs, defStyle, lazyInput, true);
+    }
+
+    /**
+     * Create a new number picker
+     *
+     * @param context       the application environment.
+     * @param attrs         a collection of attributes.
+     * @param defStyle      The default style to apply to this view.
+     * @param lazyInput     True to create the input text only when the picker is first
+     *                      focused, also enabled by the <code>np_lazyInput</code> attribute.
+     * @param inflateLayout The default of the <code>np_inflateLayout</code> attribute, false
+     *                      to build the input text in code, e.g. for the NPickers of the
+     *                      composite pickers built in code.
+     */
+    NumberPicker(Context context, AttributeSet attrs, int defStyle, boolean lazyInput,
+                 boolean inflateLayout) {
         super(context, attrs);
         mContext = context;
         mNumberFormatter = NumberFormat.getInstance();
@@ -785,7 +1106,7 @@ public class NumberPicker extends LinearLayout {
                 R.styleable.NumberPicker_np_selectedTextStrikeThru, mSelectedTextStrikeThru);
         mSelectedTextUnderline = attributes.getBoolean(
                 R.styleable.NumberPicker_np_selectedTextUnderline, mSelectedTextUnderline);
-        mSelectedTypeface = Typeface.create(attributes.getString(
+        mSelectedTypeface = PickerResources.getTypeface(attributes.getString(
                 R.styleable.NumberPicker_np_selectedTypeface), Typeface.NORMAL);
         mTextAlign = attributes.getInt(R.styleable.NumberPicker_np_textAlign, mTextAlign);
         mTextColor = attributes.getColor(R.styleable.NumberPicker_np_textColor, mTextColor);
@@ -795,8 +1116,8 @@ public class NumberPicker extends LinearLayout {
                 R.styleable.NumberPicker_np_textStrikeThru, mTextStrikeThru);
         mTextUnderline = attributes.getBoolean(
                 R.styleable.NumberPicker_np_textUnderline, mTextUnderline);
-        mTypeface = Typeface.create(attributes.getString(R.styleable.NumberPicker_np_typeface),
-                Typeface.NORMAL);
+        mTypeface = PickerResources.getTypeface(
+                attributes.getString(R.styleable.NumberPicker_np_typeface), Typeface.NORMAL);
         mFormatter = stringToFormatter(attributes.getString(R.styleable.NumberPicker_np_formatter));
         mFadingEdgeEnabled = attributes.getBoolean(R.styleable.NumberPicker_np_fadingEdgeEnabled,
                 mFadingEdgeEnabled);
@@ -817,6 +1138,11 @@ public class NumberPicker extends LinearLayout {
                 R.styleable.NumberPicker_np_accessibilityDescriptionEnabled, true);
         mItemSpacing = attributes.getDimensionPixelSize(
                 R.styleable.NumberPicker_np_itemSpacing, 0);
+        mValueChangeDispatch = attributes.getInt(
+                R.styleable.NumberPicker_np_valueChangeDispatch, mValueChangeDispatch);
+        inflateLayout = attributes.getBoolean(
+                R.styleable.NumberPicker_np_inflateLayout, inflateLayout);
+        mLazyInput = lazyInput || attributes.getBoolean(R.styleable.NumberPicker_np_lazyInput, false);
         // By default LinearLayout that we extend is not drawn. This is
         // its draw() method is not called but dispatchDraw() is called
         // directly (see ViewGroup.drawChild()). However, this class uses
@@ -824,21 +1150,32 @@ public class NumberPicker extends LinearLayout {
         // draw() method to be called. Therefore, we declare we will draw.
         setWillNotDraw(false);
 
-        LayoutInflater inflater = (LayoutInflater) context.getSystemService(
-                Context.LAYOUT_INFLATER_SERVICE);
-        inflater.inflate(R.layout.number_picker, this, true);
-
-        // input text
-        mSelectedText = findViewById(R.id.np__numberpicker_input);
-        mSelectedText.setEnabled(false);
-        mSelectedText.setFocusable(false);
-        mSelectedText.setImeOptions(EditorInfo.IME_ACTION_NONE);
+        // input text, built in code unless the overridable layout is asked for
+        if (mLazyInput) {
+            mSelectedText = null;
+        } else if (inflateLayout) {
+            LayoutInflater inflater = (LayoutInflater) context.getSystemService(
+                    Context.LAYOUT_INFLATER_SERVICE);
+            inflater.inflate(R.layout.number_picker, this, true);
+            mSelectedText = findViewById(R.id.np__numberpicker_input);
+            mSelectedText.setEnabled(false);
+        } else {
+            mSelectedText = createInputText(context);
+            mSelectedText.setEnabled(false);
+            addView(mSelectedText);
+        }
+        if (mSelectedText != null) {
+            mSelectedText.setFocusable(false);
+            mSelectedText.setImeOptions(mImeOptions);
+        }
 
-        // create the selector wheel paint
+        // create the selector wheel paints
         Paint paint = new Paint();
         paint.setAntiAlias(true);
         paint.setTextAlign(Paint.Align.CENTER);
         mSelectorWheelPaint = paint;
+        mSelectedTextPaint = new Paint(paint);
+        mTextPaint = new Paint(paint);
 
         setSelectedTextColor(mSelectedTextColor);
         setTextColor(mTextColor);
@@ -881,7 +1218,7 @@ public class NumberPicker extends LinearLayout {
 
         // create the fling and adjust scrollers
         mFlingScroller = new Scroller(context, null, true);
-        mAdjustScroller = new Scroller(context, new DecelerateInterpolator(2.5f));
+        mAdjustScroller = new Scroller(context, PickerResources.getAdjustInterpolator());
 
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
             // If not explicitly specified this view is important for accessibility.
@@ -898,24 +1235,46 @@ public class NumberPicker extends LinearLayout {
             }
         }
 
+        // the label bitmaps render with the text paints created above
+        setTextAtlasMaxBytes(attributes.getInt(
+                R.styleable.NumberPicker_np_textAtlasMaxBytes, mTextAtlasMaxBytes));
+        setTextAtlasEnabled(attributes.getBoolean(
+                R.styleable.NumberPicker_np_textAtlasEnabled, false));
+
         attributes.recycle();
     }
 
     @Override
     protected void onLayout(boolean changed, int left, int top, int right, int bottom) {
+        final boolean traced = beginTraceSection(TRACE_LAYOUT);
+        try {
+            onLayoutImpl(changed, left, top, right, bottom);
+        } finally {
+            PickerTrace.endSection(traced);
+        }
+    }
+
+    private void onLayoutImpl(boolean changed, int left, int top, int right, int bottom) {
         final int msrdWdth = getMeasuredWidth();
         final int msrdHght = getMeasuredHeight();
 
-        // Input text centered horizontally.
-        final int inptTxtMsrdWdth = mSelectedText.getMeasuredWidth();
-        final int inptTxtMsrdHght = mSelectedText.getMeasuredHeight();
-        final int inptTxtLeft = (msrdWdth - inptTxtMsrdWdth) / 2;
-        final int inptTxtTop = (msrdHght - inptTxtMsrdHght) / 2;
-        final int inptTxtRight = inptTxtLeft + inptTxtMsrdWdth;
-        final int inptTxtBottom = inptTxtTop + inptTxtMsrdHght;
-        mSelectedText.layout(inptTxtLeft, inptTxtTop, inptTxtRight, inptTxtBottom);
-        mSelectedTextCenterX = mSelectedText.getX() + mSelectedText.getMeasuredWidth() / 2f - 2f;
-        mSelectedTextCenterY = mSelectedText.getY() + mSelectedText.getMeasuredHeight() / 2f - 5f;
+        if (mSelectedText != null) {
+            // Input text centered horizontally.
+            final int inptTxtMsrdWdth = mSelectedText.getMeasuredWidth();
+            final int inptTxtMsrdHght = mSelectedText.getMeasuredHeight();
+            final int inptTxtLeft = (msrdWdth - inptTxtMsrdWdth) / 2;
+            final int inptTxtTop = (msrdHght - inptTxtMsrdHght) / 2;
+            final int inptTxtRight = inptTxtLeft + inptTxtMsrdWdth;
+            final int inptTxtBottom = inptTxtTop + inptTxtMsrdHght;
+            mSelectedText.layout(inptTxtLeft, inptTxtTop, inptTxtRight, inptTxtBottom);
+            mSelectedTextCenterX = mSelectedText.getX() + mSelectedText.getMeasuredWidth() / 2f - 2f;
+            mSelectedTextCenterY = mSelectedText.getY() + mSelectedText.getMeasuredHeight() / 2f - 5f;
+        } else {
+            // where the input text would be, spanning the width and centered vertically
+            final int inptTxtHght = getSelectedTextLineHeight();
+            mSelectedTextCenterX = msrdWdth / 2f - 2f;
+            mSelectedTextCenterY = (msrdHght - inptTxtHght) / 2 + inptTxtHght / 2f - 5f;
+        }
 
         if (changed) {
             // need to do all this when we know our size
@@ -936,6 +1295,15 @@ public class NumberPicker extends LinearLayout {
 
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
+        final boolean traced = beginTraceSection(TRACE_MEASURE);
+        try {
+            onMeasureImpl(widthMeasureSpec, heightMeasureSpec);
+        } finally {
+            PickerTrace.endSection(traced);
+        }
+    }
+
+    private void onMeasureImpl(int widthMeasureSpec, int heightMeasureSpec) {
         // Try greedily to fit the max width and height.
         final int newWidthMeasureSpec = makeMeasureSpec(widthMeasureSpec, mMaxWidth);
         final int newHeightMeasureSpec = makeMeasureSpec(heightMeasureSpec, mMaxHeight);
@@ -960,32 +1328,16 @@ public class NumberPicker extends LinearLayout {
         scroller.forceFinished(true);
         if (isHorizontalMode()) {
             int amountToScroll = scroller.getFinalX() - scroller.getCurrX();
-            int futureScrollOffset = (mCurrentScrollOffset + amountToScroll) % mSelectorElementSize;
-            int overshootAdjustment = mInitialScrollOffset - futureScrollOffset;
+            int overshootAdjustment = mWheel.getOvershootAdjustment(amountToScroll);
             if (overshootAdjustment != 0) {
-                if (Math.abs(overshootAdjustment) > mSelectorElementSize / 2) {
-                    if (overshootAdjustment > 0) {
-                        overshootAdjustment -= mSelectorElementSize;
-                    } else {
-                        overshootAdjustment += mSelectorElementSize;
-                    }
-                }
                 amountToScroll += overshootAdjustment;
                 scrollBy(amountToScroll, 0);
                 return true;
             }
         } else {
             int amountToScroll = scroller.getFinalY() - scroller.getCurrY();
-            int futureScrollOffset = (mCurrentScrollOffset + amountToScroll) % mSelectorElementSize;
-            int overshootAdjustment = mInitialScrollOffset - futureScrollOffset;
+            int overshootAdjustment = mWheel.getOvershootAdjustment(amountToScroll);
             if (overshootAdjustment != 0) {
-                if (Math.abs(overshootAdjustment) > mSelectorElementSize / 2) {
-                    if (overshootAdjustment > 0) {
-                        overshootAdjustment -= mSelectorElementSize;
-                    } else {
-                        overshootAdjustment += mSelectorElementSize;
-                    }
-                }
                 amountToScroll += overshootAdjustment;
                 scrollBy(0, amountToScroll);
                 return true;
@@ -1112,7 +1464,7 @@ public class NumberPicker extends LinearLayout {
                         int eventX = (int) event.getX();
                         int deltaMoveX = (int) Math.abs(eventX - mLastDownEventX);
                         if (deltaMoveX <= mTouchSlop) {
-                            int selectorIndexOffset = (eventX / mSelectorElementSize)
+                            int selectorIndexOffset = (eventX / mWheel.getElementSize())
                                     - mWheelMiddleItemIndex;
                             if (selectorIndexOffset > 0) {
                                 changeValueByOne(true);
@@ -1135,7 +1487,7 @@ public class NumberPicker extends LinearLayout {
                         int eventY = (int) event.getY();
                         int deltaMoveY = (int) Math.abs(eventY - mLastDownEventY);
                         if (deltaMoveY <= mTouchSlop) {
-                            int selectorIndexOffset = (eventY / mSelectorElementSize)
+                            int selectorIndexOffset = (eventY / mWheel.getElementSize())
                                     - mWheelMiddleItemIndex;
                             if (selectorIndexOffset > 0) {
                                 changeValueByOne(true);
@@ -1218,6 +1570,15 @@ public class NumberPicker extends LinearLayout {
 
     @Override
     public void computeScroll() {
+        final boolean traced = beginTraceSection(TRACE_COMPUTE_SCROLL);
+        try {
+            computeScrollImpl();
+        } finally {
+            PickerTrace.endSection(traced);
+        }
+    }
+
+    private void computeScrollImpl() {
         if (!isScrollerEnabled()) {
             return;
         }
@@ -1229,6 +1590,8 @@ public class NumberPicker extends LinearLayout {
                 return;
             }
         }
+        final FrameStats frameStats = isCollectingFrameStats() ? mFrameStats : null;
+        final long startNanos = frameStats != null ? System.nanoTime() : 0;
         scroller.computeScrollOffset();
         if (isHorizontalMode()) {
             int currentScrollerX = scroller.getCurrX();
@@ -1245,6 +1608,9 @@ public class NumberPicker extends LinearLayout {
             scrollBy(0, currentScrollerY - mPreviousScrollerY);
             mPreviousScrollerY = currentScrollerY;
         }
+        if (frameStats != null) {
+            frameStats.recordComputeScroll(System.nanoTime() - startNanos);
+        }
         if (scroller.isFinished()) {
             onScrollerFinished(scroller);
         } else {
@@ -1255,111 +1621,140 @@ public class NumberPicker extends LinearLayout {
     @Override
     public void setEnabled(boolean enabled) {
         super.setEnabled(enabled);
-        mSelectedText.setEnabled(enabled);
+        if (mSelectedText != null) {
+            mSelectedText.setEnabled(enabled);
+        }
+    }
+
+    @Override
+    public void invalidate() {
+        if (PickerMetrics.sEnabled) {
+            PickerMetrics.increment(PickerMetrics.INVALIDATE);
+        }
+        super.invalidate();
+    }
+
+    @Override
+    public void requestLayout() {
+        if (PickerMetrics.sEnabled) {
+            PickerMetrics.increment(PickerMetrics.REQUEST_LAYOUT);
+        }
+        super.requestLayout();
+    }
+
+    @Override
+    protected void onFocusChanged(boolean gainFocus, int direction, Rect previouslyFocusedRect) {
+        super.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+        if (gainFocus) {
+            ensureSelectedText();
+        }
+    }
+
+    /**
+     * Creates the input text of the lazy input mode with the current state of the picker.
+     */
+    private void ensureSelectedText() {
+        if (mSelectedText != null) {
+            return;
+        }
+        mSelectedText = createInputText(mContext);
+        mSelectedText.setEnabled(isEnabled());
+        mSelectedText.setFocusable(false);
+        mSelectedText.setImeOptions(mImeOptions);
+        mSelectedText.setTextColor(mSelectedTextColor);
+        mSelectedText.setTextSize(px2sp(mSelectedTextSize));
+        mSelectedText.setTypeface(mTypeface != null ? mTypeface : Typeface.MONOSPACE);
+        updateInputType();
+        updateInputTextView();
+        addView(mSelectedText);
+    }
+
+    /**
+     * @return The height of the single line input text, also when it is not created.
+     */
+    private int getSelectedTextLineHeight() {
+        if (mSelectedText != null) {
+            return mSelectedText.getMeasuredHeight();
+        }
+        return mSelectedTextFontMetrics.bottom - mSelectedTextFontMetrics.top;
+    }
+
+    /**
+     * @return The baseline of the input text in this view, also when it is not created.
+     */
+    private int getSelectedTextBaseline() {
+        if (mSelectedText != null) {
+            return mSelectedText.getBaseline() + mSelectedText.getTop();
+        }
+        final int height = getSelectedTextLineHeight();
+        return (getHeight() - height) / 2 - mSelectedTextFontMetrics.top;
+    }
+
+    public boolean isLazyInput() {
+        return mLazyInput;
     }
 
     @Override
     public void scrollBy(int x, int y) {
+        final boolean traced = beginTraceSection(TRACE_SCROLL_BY);
+        try {
+            scrollByImpl(x, y);
+        } finally {
+            PickerTrace.endSection(traced);
+        }
+    }
+
+    private void scrollByImpl(int x, int y) {
         if (!isScrollerEnabled()) {
             return;
         }
-        int[] selectorIndices = getSelectorIndices();
-        int startScrollOffset = mCurrentScrollOffset;
+        int startScrollOffset = mWheel.getCurrentOffset();
         int gap = (int) getMaxTextSize();
-        if (isHorizontalMode()) {
-            if (isAscendingOrder()) {
-                if (!mWrapSelectorWheel && x > 0
-                        && selectorIndices[mWheelMiddleItemIndex] <= mMinValue) {
-                    mCurrentScrollOffset = mInitialScrollOffset;
-                    return;
-                }
-                if (!mWrapSelectorWheel && x < 0
-                        && selectorIndices[mWheelMiddleItemIndex] >= mMaxValue) {
-                    mCurrentScrollOffset = mInitialScrollOffset;
-                    return;
-                }
-            } else {
-                if (!mWrapSelectorWheel && x > 0
-                        && selectorIndices[mWheelMiddleItemIndex] >= mMaxValue) {
-                    mCurrentScrollOffset = mInitialScrollOffset;
-                    return;
-                }
-                if (!mWrapSelectorWheel && x < 0
-                        && selectorIndices[mWheelMiddleItemIndex] <= mMinValue) {
-                    mCurrentScrollOffset = mInitialScrollOffset;
-                    return;
-                }
-            }
-
-            mCurrentScrollOffset += x;
-        } else {
-            if (isAscendingOrder()) {
-                if (!mWrapSelectorWheel && y > 0
-                        && selectorIndices[mWheelMiddleItemIndex] <= mMinValue) {
-                    mCurrentScrollOffset = mInitialScrollOffset;
-                    return;
-                }
-                if (!mWrapSelectorWheel && y < 0
-                        && selectorIndices[mWheelMiddleItemIndex] >= mMaxValue) {
-                    mCurrentScrollOffset = mInitialScrollOffset;
-                    return;
-                }
-            } else {
-                if (!mWrapSelectorWheel && y > 0
-                        && selectorIndices[mWheelMiddleItemIndex] >= mMaxValue) {
-                    mCurrentScrollOffset = mInitialScrollOffset;
-                    return;
-                }
-                if (!mWrapSelectorWheel && y < 0
-                        && selectorIndices[mWheelMiddleItemIndex] <= mMinValue) {
-                    mCurrentScrollOffset = mInitialScrollOffset;
-                    return;
-                }
-            }
-
-            mCurrentScrollOffset += y;
+        if (!mWheel.offsetBy(isHorizontalMode() ? x : y, isAscendingOrder())) {
+            return;
         }
 
-        while (mCurrentScrollOffset - mInitialScrollOffset > gap) {
-            mCurrentScrollOffset -= mSelectorElementSize;
+        while (mWheel.takePositiveStep(gap)) {
             if (isAscendingOrder()) {
-                decrementSelectorIndices(selectorIndices);
+                decrementSelectorIndices();
             } else {
-                incrementSelectorIndices(selectorIndices);
+                incrementSelectorIndices();
             }
-            setValueInternal(selectorIndices[mWheelMiddleItemIndex], true);
-            if (!mWrapSelectorWheel && selectorIndices[mWheelMiddleItemIndex] < mMinValue) {
-                mCurrentScrollOffset = mInitialScrollOffset;
+            setValueInternal(mWheel.getSelectedIndex(), true);
+            mWheel.endPositiveStep();
+            if (isCollectingFrameStats()) {
+                mFrameStats.recordValueCrossed();
             }
         }
-        while (mCurrentScrollOffset - mInitialScrollOffset < -gap) {
-            mCurrentScrollOffset += mSelectorElementSize;
+        while (mWheel.takeNegativeStep(gap)) {
             if (isAscendingOrder()) {
-                incrementSelectorIndices(selectorIndices);
+                incrementSelectorIndices();
             } else {
-                decrementSelectorIndices(selectorIndices);
+                decrementSelectorIndices();
             }
-            setValueInternal(selectorIndices[mWheelMiddleItemIndex], true);
-            if (!mWrapSelectorWheel && selectorIndices[mWheelMiddleItemIndex] > mMaxValue) {
-                mCurrentScrollOffset = mInitialScrollOffset;
+            setValueInternal(mWheel.getSelectedIndex(), true);
+            mWheel.endNegativeStep();
+            if (isCollectingFrameStats()) {
+                mFrameStats.recordValueCrossed();
             }
         }
 
-        if (startScrollOffset != mCurrentScrollOffset) {
+        final int currentScrollOffset = mWheel.getCurrentOffset();
+        if (startScrollOffset != currentScrollOffset) {
             if (isHorizontalMode()) {
-                onScrollChanged(mCurrentScrollOffset, 0, startScrollOffset, 0);
+                onScrollChanged(currentScrollOffset, 0, startScrollOffset, 0);
             } else {
-                onScrollChanged(0, mCurrentScrollOffset, 0, startScrollOffset);
+                onScrollChanged(0, currentScrollOffset, 0, startScrollOffset);
             }
         }
     }
 
     private int computeScrollOffset(boolean isHorizontalMode) {
-        return isHorizontalMode ? mCurrentScrollOffset : 0;
+        return isHorizontalMode ? mWheel.getCurrentOffset() : 0;
     }
 
     private int computeScrollRange(boolean isHorizontalMode) {
-        return isHorizontalMode ? (mMaxValue - mMinValue + 1) * mSelectorElementSize : 0;
+        return isHorizontalMode ? (mMaxValue - mMinValue + 1) * mWheel.getElementSize() : 0;
     }
 
     private int computeScrollExtent(boolean isHorizontalMode) {
@@ -1400,33 +1795,132 @@ public class NumberPicker extends LinearLayout {
     protected void onConfigurationChanged(Configuration newConfig) {
         super.onConfigurationChanged(newConfig);
         mNumberFormatter = NumberFormat.getInstance();
+        mLabelTableLocale = null;
+    }
+
+    /**
+     * Set listener to be notified on click of the current value.
+     *
+     * @param onClickListener The listener.
+     */
+    public void setOnClickListener(OnClickListener onClickListener) {
+        mOnClickListener = onClickListener;
+    }
+
+    /**
+     * Sets the listener to be notified on change of the current value.
+     *
+     * @param OnChangedListener The listener.
+     */
+    public void setOnChangedListener(OnValueChangeListener OnChangedListener) {
+        mOnValueChangeListener = OnChangedListener;
+    }
+
+    /**
+     * Sets when the value change listener is notified of values changed by scrolling.
+     * {@link #DISPATCH_PER_FRAME} and {@link #DISPATCH_ON_SETTLE} merge the crossed values
+     * into one change from the first to the last value, so listeners doing expensive work
+     * skip the intermediate values. Wrapping around the range is always notified as a
+     * step of its own.
+     *
+     * @param dispatch {@link #DISPATCH_EVERY_STEP} (default), {@link #DISPATCH_PER_FRAME}
+     *                 or {@link #DISPATCH_ON_SETTLE}.
+     */
+    public void setValueChangeDispatch(@ValueChangeDispatch int dispatch) {
+        mValueChangeDispatch = dispatch;
+        if (dispatch == DISPATCH_EVERY_STEP) {
+            flushPendingValueChange();
+        }
+    }
+
+    @ValueChangeDispatch
+    public int getValueChangeDispatch() {
+        return mValueChangeDispatch;
+    }
+
+    /**
+     * Set listener to be notified for scroll state changes.
+     *
+     * @param onScrollListener The listener.
+     */
+    public void setOnScrollListener(OnScrollListener onScrollListener) {
+        mOnScrollListener = onScrollListener;
+    }
+
+    /**
+     * Set listener to be notified of the frame timing of every scroll: the time spent
+     * in {@link #onDraw(Canvas)} and {@link #computeScroll()}, the values crossed and
+     * the labels formatted. Nothing is measured while no listener is set.
+     *
+     * @param onFrameStatsListener The listener, null to stop measuring.
+     */
+    public void setOnFrameStatsListener(OnFrameStatsListener onFrameStatsListener) {
+        mOnFrameStatsListener = onFrameStatsListener;
+        if (onFrameStatsListener == null) {
+            mFrameStats = null;
+        } else if (mFrameStats == null) {
+            mFrameStats = new FrameStats();
+        }
     }
 
     /**
-     * Set listener to be notified on click of the current value.
+     * Sets the column named in the trace sections of this picker, e.g.
+     * <code>NumberPicker#onDraw:year</code>, see {@link PickerTrace}. By default the
+     * name of the id of the picker is used, so the columns of the composite pickers are
+     * tagged year, month, day, hour, minute and second.
      *
-     * @param onClickListener The listener.
+     * @param traceTag The column, null for the name of the id.
      */
-    public void setOnClickListener(OnClickListener onClickListener) {
-        mOnClickListener = onClickListener;
+    public void setTraceTag(String traceTag) {
+        mTraceTag = traceTag;
+        mTraceSections = null;
+    }
+
+    @Override
+    public void setId(int id) {
+        super.setId(id);
+        // the default trace tag is the name of the id
+        mTraceSections = null;
+    }
+
+    public String getTraceTag() {
+        if (mTraceTag == null && getId() != NO_ID) {
+            try {
+                return getResources().getResourceEntryName(getId());
+            } catch (Resources.NotFoundException e) {
+                return null;
+            }
+        }
+        return mTraceTag;
     }
 
     /**
-     * Sets the listener to be notified on change of the current value.
+     * Begins the trace section of a method if tracing is enabled.
      *
-     * @param OnChangedListener The listener.
+     * @param method The method, e.g. {@link #TRACE_DRAW}.
+     * @return Whether a section was begun.
      */
-    public void setOnChangedListener(OnValueChangeListener OnChangedListener) {
-        mOnValueChangeListener = OnChangedListener;
+    private boolean beginTraceSection(int method) {
+        if (!PickerTrace.sEnabled) {
+            return false;
+        }
+        if (mTraceSections == null) {
+            final String traceTag = getTraceTag();
+            final String[] traceSections = new String[TRACE_METHODS.length];
+            for (int i = 0; i < traceSections.length; i++) {
+                traceSections[i] = traceTag == null ? "NumberPicker#" + TRACE_METHODS[i]
+                        : "NumberPicker#" + TRACE_METHODS[i] + ":" + traceTag;
+            }
+            mTraceSections = traceSections;
+        }
+        return PickerTrace.beginSection(mTraceSections[method]);
     }
 
     /**
-     * Set listener to be notified for scroll state changes.
-     *
-     * @param onScrollListener The listener.
+     * @return Whether the frame timing of the current scroll is measured.
      */
-    public void setOnScrollListener(OnScrollListener onScrollListener) {
-        mOnScrollListener = onScrollListener;
+    private boolean isCollectingFrameStats() {
+        return mFrameStats != null && mScrollState != OnScrollListener.SCROLL_STATE_IDLE;
     }
 
     /**
@@ -1445,6 +1939,7 @@ public class NumberPicker extends LinearLayout {
             return;
         }
         mFormatter = formatter;
+        mLabelTableLocale = null;
         initializeSelectorWheelIndices();
         updateInputTextView();
     }
@@ -1485,6 +1980,44 @@ public class NumberPicker extends LinearLayout {
         return Math.max(mTextSize, mSelectedTextSize);
     }
 
+    /**
+     * Applies the current style attributes to the selected and normal text paints.
+     * Called from the style setters only, so drawing never has to touch paint state.
+     */
+    private void updateTextPaints() {
+        configureTextPaint(mSelectedTextPaint, mSelectedTextAlign, mSelectedTextSize,
+                mSelectedTextColor, mSelectedTextStrikeThru, mSelectedTextUnderline,
+                mSelectedTypeface);
+        configureTextPaint(mTextPaint, mTextAlign, mTextSize, mTextColor, mTextStrikeThru,
+                mTextUnderline, mTypeface);
+        mSelectedTextLineHeight = Math.abs(mSelectedTextPaint.descent() + mSelectedTextPaint.ascent());
+        mTextLineHeight = Math.abs(mTextPaint.descent() + mTextPaint.ascent());
+        mSelectedTextPaint.getFontMetrics(mFontMetrics);
+        mSelectedTextPaintCenterY = getPaintCenterY(mFontMetrics);
+        mTextPaint.getFontMetrics(mFontMetrics);
+        mTextPaintCenterY = getPaintCenterY(mFontMetrics);
+        mSelectedTextPaint.getFontMetricsInt(mSelectedTextFontMetrics);
+        clearLabelBitmaps();
+    }
+
+    private void clearLabelBitmaps() {
+        if (mSelectedLabelBitmaps != null) {
+            mSelectedLabelBitmaps.clear();
+            mLabelBitmaps.clear();
+        }
+    }
+
+    private static void configureTextPaint(Paint paint, int align, float textSize, int color,
+                                           boolean strikeThru, boolean underline,
+                                           Typeface typeface) {
+        paint.setTextAlign(PAINT_ALIGNS[align]);
+        paint.setTextSize(textSize);
+        paint.setColor(color);
+        paint.setStrikeThruText(strikeThru);
+        paint.setUnderlineText(underline);
+        paint.setTypeface(typeface);
+    }
+
     private float getPaintCenterY(Paint.FontMetrics fontMetrics) {
         if (fontMetrics == null) {
             return 0;
@@ -1496,12 +2029,24 @@ public class NumberPicker extends LinearLayout {
      * Computes the max width if no such specified as an attribute.
      */
     private void tryComputeMaxWidth() {
+        final boolean traced = beginTraceSection(TRACE_COMPUTE_MAX_WIDTH);
+        try {
+            tryComputeMaxWidthImpl();
+        } finally {
+            PickerTrace.endSection(traced);
+        }
+    }
+
+    private void tryComputeMaxWidthImpl() {
         if (!mComputeMaxWidth) {
             return;
         }
+        if (PickerMetrics.sEnabled) {
+            PickerMetrics.increment(PickerMetrics.COMPUTE_MAX_WIDTH);
+        }
         mSelectorWheelPaint.setTextSize(getMaxTextSize());
         int maxTextWidth = 0;
-        if (mDisplayedValues == null) {
+        if (mDisplayedValuesProvider == null) {
             float maxDigitWidth = 0;
             for (int i = 0; i <= 9; i++) {
                 final float digitWidth = mSelectorWheelPaint.measureText(formatNumber(i));
@@ -1517,14 +2062,28 @@ public class NumberPicker extends LinearLayout {
             }
             maxTextWidth = (int) (numberOfDigits * maxDigitWidth);
         } else {
-            for (String displayedValue : mDisplayedValues) {
-                final float textWidth = mSelectorWheelPaint.measureText(displayedValue);
-                if (textWidth > maxTextWidth) {
-                    maxTextWidth = (int) textWidth;
+            final String widest = mDisplayedValuesProvider.maxWidthHint();
+            if (widest != null) {
+                maxTextWidth = (int) mSelectorWheelPaint.measureText(widest);
+            } else {
+                final int size = mDisplayedValuesProvider.size();
+                // displayed values set as an array are all measured, only the labels
+                // of a provider set by the app are sampled
+                final boolean sampled =
+                        !(mDisplayedValuesProvider instanceof ArrayDisplayedValuesProvider);
+                final int step = sampled ? Math.max(size / MAX_MEASURED_DISPLAYED_VALUES, 1) : 1;
+                for (int i = 0; i < size; i += step) {
+                    final float textWidth = mSelectorWheelPaint.measureText(
+                            mDisplayedValuesProvider.get(i));
+                    if (textWidth > maxTextWidth) {
+                        maxTextWidth = (int) textWidth;
+                    }
                 }
             }
         }
-        maxTextWidth += mSelectedText.getPaddingLeft() + mSelectedText.getPaddingRight();
+        if (mSelectedText != null) {
+            maxTextWidth += mSelectedText.getPaddingLeft() + mSelectedText.getPaddingRight();
+        }
         if (mMaxWidth != maxTextWidth) {
             mMaxWidth = Math.max(maxTextWidth, mMinWidth);
             invalidate();
@@ -1561,7 +2120,11 @@ public class NumberPicker extends LinearLayout {
      */
     public void setWrapSelectorWheel(boolean wrapSelectorWheel) {
         mWrapSelectorWheelPreferred = wrapSelectorWheel;
+        final boolean wrapped = mWrapSelectorWheel;
         updateWrapSelectorWheel();
+        if (wrapped != mWrapSelectorWheel) {
+            initializeSelectorWheelIndices();
+        }
     }
 
     /**
@@ -1573,10 +2136,11 @@ public class NumberPicker extends LinearLayout {
      */
     private void updateWrapSelectorWheel() {
         mWrapSelectorWheel = isWrappingAllowed() && mWrapSelectorWheelPreferred;
+        mWheel.setRange(mMinValue, mMaxValue, mWrapSelectorWheel);
     }
 
     private boolean isWrappingAllowed() {
-        return mMaxValue - mMinValue >= mSelectorIndices.length - 1;
+        return mMaxValue - mMinValue >= mWheel.getItemCount() - 1;
     }
 
     /**
@@ -1625,6 +2189,7 @@ public class NumberPicker extends LinearLayout {
 //        if (minValue < 0) {
 //            throw new IllegalArgumentException("minValue must be >= 0");
 //        }
+        flushPendingValueChange();
         mMinValue = minValue;
         if (mMinValue > mValue) {
             mValue = mMinValue;
@@ -1660,6 +2225,7 @@ public class NumberPicker extends LinearLayout {
         if (maxValue < 0) {
             throw new IllegalArgumentException("maxValue must be >= 0");
         }
+        flushPendingValueChange();
         mMaxValue = maxValue;
         if (mMaxValue < mValue) {
             mValue = mMaxValue;
@@ -1691,20 +2257,133 @@ public class NumberPicker extends LinearLayout {
      *                        {@link #getMaxValue()} - {@link #getMinValue()} + 1.
      */
     public void setDisplayedValues(String[] displayedValues) {
-        if (mDisplayedValues == displayedValues) {
+        if (isDisplayedValues(displayedValues)) {
+            return;
+        }
+        setDisplayedValuesInternal(displayedValues);
+        updateInputTextView();
+        initializeSelectorWheelIndices();
+        tryComputeMaxWidth();
+    }
+
+    /**
+     * Gets the provider of the values to be displayed instead of string values.
+     *
+     * @return The provider, wrapping the array if displayed values were set.
+     */
+    public DisplayedValuesProvider getDisplayedValuesProvider() {
+        return mDisplayedValuesProvider;
+    }
+
+    /**
+     * Sets the provider of the values to be displayed, replacing any displayed values.
+     * Labels are requested only for the visible items and the max width is computed
+     * from {@link DisplayedValuesProvider#maxWidthHint()} or a sample of the labels.
+     *
+     * @param provider The provider or <code>null</code> to display the values.
+     *
+     *                 <strong>Note:</strong> The size of the provider must be equal to
+     *                 the range of selectable numbers which is equal to
+     *                 {@link #getMaxValue()} - {@link #getMinValue()} + 1.
+     */
+    public void setDisplayedValuesProvider(DisplayedValuesProvider provider) {
+        if (mDisplayedValuesProvider == provider) {
             return;
         }
+        mDisplayedValues = null;
+        mDisplayedValuesProvider = provider;
+        updateInputType();
+        updateInputTextView();
+        initializeSelectorWheelIndices();
+        tryComputeMaxWidth();
+    }
+
+    /**
+     * @return True if the given displayed values are the ones currently displayed.
+     */
+    private boolean isDisplayedValues(String[] displayedValues) {
+        return displayedValues == null ? mDisplayedValuesProvider == null
+                : displayedValues == mDisplayedValues;
+    }
+
+    private void setDisplayedValuesInternal(String[] displayedValues) {
         mDisplayedValues = displayedValues;
-        if (mDisplayedValues != null) {
+        mDisplayedValuesProvider = displayedValues == null
+                ? null : new ArrayDisplayedValuesProvider(displayedValues);
+        updateInputType();
+    }
+
+    /**
+     * Sets the range, the displayed values, the wrapping and the value at once. Unlike
+     * calling {@link #setMinValue(int)}, {@link #setMaxValue(int)},
+     * {@link #setDisplayedValues(String[])}, {@link #setWrapSelectorWheel(boolean)} and
+     * {@link #setValue(int)} one after another, the selector wheel, the input text and
+     * the max width are recomputed only once, and the displayed values never have to be
+     * reset to avoid a mismatch with an intermediate range. If the range, the displayed
+     * values (by reference) and the wrapping are unchanged only the value is updated, so
+     * the picker is neither re-measured nor re-laid out.
+     *
+     * @param minValue          The min value inclusive.
+     * @param maxValue          The max value inclusive.
+     * @param displayedValues   The displayed values or <code>null</code>. Its length must be
+     *                          at least <code>maxValue - minValue + 1</code>.
+     * @param wrapSelectorWheel Whether to wrap.
+     * @param value             The current value, adjusted like {@link #setValue(int)}.
+     */
+    public void setRange(int minValue, int maxValue, String[] displayedValues,
+                         boolean wrapSelectorWheel, int value) {
+        if (maxValue < 0) {
+            throw new IllegalArgumentException("maxValue must be >= 0");
+        }
+        if (minValue > maxValue) {
+            throw new IllegalArgumentException("minValue must be <= maxValue");
+        }
+        if (displayedValues != null && displayedValues.length < maxValue - minValue + 1) {
+            throw new IllegalArgumentException("displayedValues must cover the range");
+        }
+        if (mMinValue == minValue && mMaxValue == maxValue
+                && isDisplayedValues(displayedValues)
+                && mWrapSelectorWheelPreferred == wrapSelectorWheel) {
+            setValueInternal(value, false);
+            return;
+        }
+        flushPendingValueChange();
+        mMinValue = minValue;
+        mMaxValue = maxValue;
+        if (!isDisplayedValues(displayedValues)) {
+            setDisplayedValuesInternal(displayedValues);
+        }
+        mWrapSelectorWheelPreferred = wrapSelectorWheel;
+        updateWrapSelectorWheel();
+        if (mWrapSelectorWheel) {
+            value = mWheel.getWrappedIndex(value);
+        } else {
+            value = Math.max(value, mMinValue);
+            value = Math.min(value, mMaxValue);
+        }
+        mValue = value;
+
+        initializeSelectorWheelIndices();
+        updateInputTextView();
+        updateAccessibilityDescription();
+        tryComputeMaxWidth();
+        invalidate();
+    }
+
+    /**
+     * Allows text entry for displayed values and strictly numeric entry otherwise.
+     */
+    private void updateInputType() {
+        if (mSelectedText == null) {
+            return;
+        }
+        if (mDisplayedValuesProvider != null) {
             // Allow text entry rather than strictly numeric entry.
             mSelectedText.setRawInputType(InputType.TYPE_TEXT_FLAG_MULTI_LINE
                     | InputType.TYPE_TEXT_FLAG_NO_SUGGESTIONS);
         } else {
             mSelectedText.setRawInputType(InputType.TYPE_CLASS_NUMBER);
         }
-        updateInputTextView();
-        initializeSelectorWheelIndices();
-        tryComputeMaxWidth();
     }
 
     private float getFadingEdgeStrength(boolean isHorizontalMode) {
@@ -1735,6 +2414,11 @@ public class NumberPicker extends LinearLayout {
     protected void onDetachedFromWindow() {
         super.onDetachedFromWindow();
         removeAllCallbacks();
+        if (mDispatchValueChangeCommand != null) {
+            removeCallbacks(mDispatchValueChangeCommand);
+        }
+        flushPendingValueChange();
+        clearLabelBitmaps();
     }
 
     @CallSuper
@@ -1758,46 +2442,53 @@ public class NumberPicker extends LinearLayout {
 
     @Override
     protected void onDraw(Canvas canvas) {
+        final boolean traced = beginTraceSection(TRACE_DRAW);
+        try {
+            onDrawImpl(canvas);
+        } finally {
+            PickerTrace.endSection(traced);
+        }
+    }
+
+    private void onDrawImpl(Canvas canvas) {
+        final FrameStats frameStats = isCollectingFrameStats() ? mFrameStats : null;
+        final long startNanos = frameStats != null ? System.nanoTime() : 0;
         // save canvas
         canvas.save();
 
         final boolean showSelectorWheel = !mHideWheelUntilFocused || hasFocus();
         float x, y;
         if (isHorizontalMode()) {
-            x = mCurrentScrollOffset;
-            y = mSelectedText.getBaseline() + mSelectedText.getTop();
+            x = mWheel.getCurrentOffset();
+            y = getSelectedTextBaseline();
             if (mRealWheelItemCount < DEFAULT_WHEEL_ITEM_COUNT) {
                 canvas.clipRect(mLeftDividerLeft, 0, mRightDividerRight, getBottom());
             }
         } else {
             x = (getRight() - getLeft()) / 2f;
-            y = mCurrentScrollOffset;
+            y = mWheel.getCurrentOffset();
             if (mRealWheelItemCount < DEFAULT_WHEEL_ITEM_COUNT) {
                 canvas.clipRect(0, mTopDividerTop, getRight(), mBottomDividerBottom);
             }
         }
 
-        // draw the selector wheel
-        int[] selectorIndices = getSelectorIndices();
-        for (int i = 0; i < selectorIndices.length; i++) {
-            if (i == mWheelMiddleItemIndex) {
-                mSelectorWheelPaint.setTextAlign(Paint.Align.values()[mSelectedTextAlign]);
-                mSelectorWheelPaint.setTextSize(mSelectedTextSize);
-                mSelectorWheelPaint.setColor(mSelectedTextColor);
-                mSelectorWheelPaint.setStrikeThruText(mSelectedTextStrikeThru);
-                mSelectorWheelPaint.setUnderlineText(mSelectedTextUnderline);
-                mSelectorWheelPaint.setTypeface(mSelectedTypeface);
-            } else {
-                mSelectorWheelPaint.setTextAlign(Paint.Align.values()[mTextAlign]);
-                mSelectorWheelPaint.setTextSize(mTextSize);
-                mSelectorWheelPaint.setColor(mTextColor);
-                mSelectorWheelPaint.setStrikeThruText(mTextStrikeThru);
-                mSelectorWheelPaint.setUnderlineText(mTextUnderline);
-                mSelectorWheelPaint.setTypeface(mTypeface);
-            }
+        if (mSelectedLabelBitmaps != null) {
+            final boolean scaled = getScaleX() != 1f || getScaleY() != 1f;
+            mSelectedLabelBitmaps.setScaled(scaled);
+            mLabelBitmaps.setScaled(scaled);
+        }
 
-            int selectorIndex = selectorIndices[isAscendingOrder()
-                    ? i : selectorIndices.length - i - 1];
+        // draw the selector wheel
+        final int itemCount = mWheel.getItemCount();
+        final int elementSize = mWheel.getElementSize();
+        for (int i = 0; i < itemCount; i++) {
+            final Paint paint = (i == mWheelMiddleItemIndex) ? mSelectedTextPaint : mTextPaint;
+            final LabelBitmapCache labelBitmaps = (i == mWheelMiddleItemIndex)
+                    ? mSelectedLabelBitmaps : mLabelBitmaps;
+            final float lineHeight = (i == mWheelMiddleItemIndex)
+                    ? mSelectedTextLineHeight : mTextLineHeight;
+
+            int selectorIndex = mWheel.getIndex(isAscendingOrder() ? i : itemCount - i - 1);
             String scrollSelectorValue = mSelectorIndexToStringCache.get(selectorIndex);
             if (scrollSelectorValue == null) {
                 continue;
@@ -1808,10 +2499,12 @@ public class NumberPicker extends LinearLayout {
             // IME he may see a dimmed version of the old value intermixed
             // with the new one.
             if ((showSelectorWheel && i != mWheelMiddleItemIndex)
-                    || (i == mWheelMiddleItemIndex && mSelectedText.getVisibility() != VISIBLE)) {
+                    || (i == mWheelMiddleItemIndex
+                    && (mSelectedText == null || mSelectedText.getVisibility() != VISIBLE))) {
                 float textY = y;
                 if (!isHorizontalMode()) {
-                    textY += getPaintCenterY(mSelectorWheelPaint.getFontMetrics());
+                    textY += (i == mWheelMiddleItemIndex)
+                            ? mSelectedTextPaintCenterY : mTextPaintCenterY;
                 }
 
                 int xOffset = 0;
@@ -1833,13 +2526,14 @@ public class NumberPicker extends LinearLayout {
                     }
                 }
 
-                drawText(scrollSelectorValue, x + xOffset, textY + yOffset, mSelectorWheelPaint, canvas);
+                drawText(scrollSelectorValue, mSelectorIndexToLinesCache.get(selectorIndex),
+                        x + xOffset, textY + yOffset, paint, lineHeight, labelBitmaps, canvas);
             }
 
             if (isHorizontalMode()) {
-                x += mSelectorElementSize;
+                x += elementSize;
             } else {
-                y += mSelectorElementSize;
+                y += elementSize;
             }
         }
 
@@ -1853,6 +2547,9 @@ public class NumberPicker extends LinearLayout {
             else
                 drawVerticalDividers(canvas);
         }
+        if (frameStats != null) {
+            frameStats.recordDraw(System.nanoTime() - startNanos);
+        }
     }
 
     private void drawHorizontalDividers(Canvas canvas) {
@@ -1942,18 +2639,17 @@ public class NumberPicker extends LinearLayout {
         }
     }
 
-    private void drawText(String text, float x, float y, Paint paint, Canvas canvas) {
-        if (text.contains("\n")) {
-            final String[] lines = text.split("\n");
-            final float height = Math.abs(paint.descent() + paint.ascent())
-                    * mLineSpacingMultiplier;
+    private void drawText(String text, String[] lines, float x, float y, Paint paint,
+                          float lineHeight, LabelBitmapCache labelBitmaps, Canvas canvas) {
+        if (lines != null) {
+            final float height = lineHeight * mLineSpacingMultiplier;
             final float diff = (lines.length - 1) * height / 2;
             y -= diff;
             for (String line : lines) {
                 canvas.drawText(line, x, y, paint);
                 y += height;
             }
-        } else {
+        } else if (labelBitmaps == null || !labelBitmaps.drawText(canvas, text, x, y)) {
             canvas.drawText(text, x, y, paint);
         }
     }
@@ -1963,8 +2659,8 @@ public class NumberPicker extends LinearLayout {
         super.onInitializeAccessibilityEvent(event);
         event.setClassName(NumberPicker.class.getName());
         event.setScrollable(isScrollerEnabled());
-        final int scroll = (mMinValue + mValue) * mSelectorElementSize;
-        final int maxScroll = (mMaxValue - mMinValue) * mSelectorElementSize;
+        final int scroll = (mMinValue + mValue) * mWheel.getElementSize();
+        final int maxScroll = (mMaxValue - mMinValue) * mWheel.getElementSize();
         if (isHorizontalMode()) {
             event.setScrollX(scroll);
             event.setMaxScrollX(maxScroll);
@@ -2060,15 +2756,31 @@ public class NumberPicker extends LinearLayout {
      */
     private void initializeSelectorWheelIndices() {
         mSelectorIndexToStringCache.clear();
-        int[] selectorIndices = getSelectorIndices();
-        int current = getValue();
-        for (int i = 0; i < selectorIndices.length; i++) {
-            int selectorIndex = current + (i - mWheelMiddleItemIndex);
-            if (mWrapSelectorWheel) {
-                selectorIndex = getWrappedSelectorIndex(selectorIndex);
-            }
-            selectorIndices[i] = selectorIndex;
-            ensureCachedScrollSelectorValue(selectorIndices[i]);
+        mSelectorIndexToLinesCache.clear();
+        mWheel.fill(getValue());
+        for (int i = 0; i < mWheel.getItemCount(); i++) {
+            ensureCachedScrollSelectorValue(mWheel.getIndex(i));
+        }
+        mSelectorIndicesValid = true;
+    }
+
+    /**
+     * Moves the selector indices to the current value. A step by one only shifts the
+     * window, dropping one cached string and formatting one new value, everything
+     * else falls back to {@link #initializeSelectorWheelIndices()}.
+     */
+    private void updateSelectorWheelIndices() {
+        int middle = mWheel.getSelectedIndex();
+        if (!mSelectorIndicesValid) {
+            initializeSelectorWheelIndices();
+        } else if (middle == mValue) {
+            // already shifted, e.g. by scrollBy()
+        } else if (mValue == mWheel.getNextIndex(middle)) {
+            incrementSelectorIndices();
+        } else if (mValue == mWheel.getPreviousIndex(middle)) {
+            decrementSelectorIndices();
+        } else {
+            initializeSelectorWheelIndices();
         }
     }
 
@@ -2079,12 +2791,16 @@ public class NumberPicker extends LinearLayout {
      * @param notifyChange Whether to notify if the current value changed.
      */
     private void setValueInternal(int current, boolean notifyChange) {
+        if (!notifyChange) {
+            // the values crossed by the user are notified before the value is overwritten
+            flushPendingValueChange();
+        }
         if (mValue == current) {
             return;
         }
         // Wrap around the values if we go past the start or end
         if (mWrapSelectorWheel) {
-            current = getWrappedSelectorIndex(current);
+            current = mWheel.getWrappedIndex(current);
         } else {
             current = Math.max(current, mMinValue);
             current = Math.min(current, mMaxValue);
@@ -2096,9 +2812,9 @@ public class NumberPicker extends LinearLayout {
             updateInputTextView();
         }
         if (notifyChange) {
-            notifyChange(previous, current);
+            dispatchValueChange(previous, current);
         }
-        initializeSelectorWheelIndices();
+        updateSelectorWheelIndices();
         updateAccessibilityDescription();
         invalidate();
     }
@@ -2135,7 +2851,7 @@ public class NumberPicker extends LinearLayout {
      * @param position The wheel position to scroll to.
      */
     public void smoothScrollToPosition(int position) {
-        final int currentPosition = getSelectorIndices()[mWheelMiddleItemIndex];
+        final int currentPosition = mWheel.getSelectedIndex();
         if (currentPosition == position) {
             return;
         }
@@ -2149,7 +2865,7 @@ public class NumberPicker extends LinearLayout {
      * @param steps     The steps to scroll.
      */
     public void smoothScroll(boolean increment, int steps) {
-        final int diffSteps = (increment ? -mSelectorElementSize : mSelectorElementSize) * steps;
+        final int diffSteps = (increment ? -mWheel.getElementSize() : mWheel.getElementSize()) * steps;
         if (isHorizontalMode()) {
             mPreviousScrollerX = 0;
             mFlingScroller.startScroll(0, 0, diffSteps, 0, SNAP_SCROLL_DURATION);
@@ -2162,21 +2878,20 @@ public class NumberPicker extends LinearLayout {
 
     private void initializeSelectorWheel() {
         initializeSelectorWheelIndices();
-        int[] selectorIndices = getSelectorIndices();
-        int totalTextSize = (int) ((selectorIndices.length - 1) * mTextSize + mSelectedTextSize);
-        float textGapCount = selectorIndices.length;
+        int itemCount = mWheel.getItemCount();
+        int totalTextSize = (int) ((itemCount - 1) * mTextSize + mSelectedTextSize);
+        float textGapCount = itemCount;
         if (isHorizontalMode()) {
             float totalTextGapWidth = (getRight() - getLeft()) - totalTextSize;
             mSelectorTextGapWidth = (int) (totalTextGapWidth / textGapCount);
-            mSelectorElementSize = (int) getMaxTextSize() + mSelectorTextGapWidth;
-            mInitialScrollOffset = (int) (mSelectedTextCenterX - mSelectorElementSize * mWheelMiddleItemIndex);
+            int elementSize = (int) getMaxTextSize() + mSelectorTextGapWidth;
+            mWheel.setGeometry(elementSize, (int) (mSelectedTextCenterX - elementSize * mWheelMiddleItemIndex));
         } else {
             float totalTextGapHeight = (getBottom() - getTop()) - totalTextSize;
             mSelectorTextGapHeight = (int) (totalTextGapHeight / textGapCount);
-            mSelectorElementSize = (int) getMaxTextSize() + mSelectorTextGapHeight;
-            mInitialScrollOffset = (int) (mSelectedTextCenterY - mSelectorElementSize * mWheelMiddleItemIndex);
+            int elementSize = (int) getMaxTextSize() + mSelectorTextGapHeight;
+            mWheel.setGeometry(elementSize, (int) (mSelectedTextCenterY - elementSize * mWheelMiddleItemIndex));
         }
-        mCurrentScrollOffset = mInitialScrollOffset;
         updateInputTextView();
     }
 
@@ -2203,6 +2918,9 @@ public class NumberPicker extends LinearLayout {
         } else if (mScrollState != OnScrollListener.SCROLL_STATE_TOUCH_SCROLL) {
             updateInputTextView();
         }
+        if (mScrollState == OnScrollListener.SCROLL_STATE_IDLE) {
+            flushPendingValueChange();
+        }
     }
 
     /**
@@ -2212,10 +2930,22 @@ public class NumberPicker extends LinearLayout {
         if (mScrollState == scrollState) {
             return;
         }
+        final int previousScrollState = mScrollState;
         mScrollState = scrollState;
+        if (scrollState == OnScrollListener.SCROLL_STATE_IDLE) {
+            flushPendingValueChange();
+        }
         if (mOnScrollListener != null) {
             mOnScrollListener.onScrollStateChange(this, scrollState);
         }
+        if (mFrameStats != null) {
+            if (previousScrollState == OnScrollListener.SCROLL_STATE_IDLE) {
+                mFrameStats.reset();
+            } else if (scrollState == OnScrollListener.SCROLL_STATE_IDLE) {
+                mFrameStats.finish();
+                mOnFrameStatsListener.onFrameStats(this, mFrameStats);
+            }
+        }
     }
 
     /**
@@ -2242,51 +2972,35 @@ public class NumberPicker extends LinearLayout {
     }
 
     /**
-     * @return The wrapped index <code>selectorIndex</code> value.
+     * Increments the selector indices whose string representations
+     * will be displayed in the selector.
      */
-    private int getWrappedSelectorIndex(int selectorIndex) {
-        if (selectorIndex > mMaxValue) {
-            return mMinValue + (selectorIndex - mMaxValue) % (mMaxValue - mMinValue) - 1;
-        } else if (selectorIndex < mMinValue) {
-            return mMaxValue - (mMinValue - selectorIndex) % (mMaxValue - mMinValue) + 1;
-        }
-        return selectorIndex;
-    }
-
-    private int[] getSelectorIndices() {
-        return mSelectorIndices;
+    private void incrementSelectorIndices() {
+        final int droppedSelectorIndex = mWheel.shiftForward();
+        final int nextScrollSelectorIndex = mWheel.getIndex(mWheel.getItemCount() - 1);
+        evictCachedScrollSelectorValue(droppedSelectorIndex, nextScrollSelectorIndex);
+        ensureCachedScrollSelectorValue(nextScrollSelectorIndex);
     }
 
     /**
-     * Increments the <code>selectorIndices</code> whose string representations
+     * Decrements the selector indices whose string representations
      * will be displayed in the selector.
      */
-    private void incrementSelectorIndices(int[] selectorIndices) {
-        for (int i = 0; i < selectorIndices.length - 1; i++) {
-            selectorIndices[i] = selectorIndices[i + 1];
-        }
-        int nextScrollSelectorIndex = selectorIndices[selectorIndices.length - 2] + 1;
-        if (mWrapSelectorWheel && nextScrollSelectorIndex > mMaxValue) {
-            nextScrollSelectorIndex = mMinValue;
-        }
-        selectorIndices[selectorIndices.length - 1] = nextScrollSelectorIndex;
+    private void decrementSelectorIndices() {
+        final int droppedSelectorIndex = mWheel.shiftBackward();
+        final int nextScrollSelectorIndex = mWheel.getIndex(0);
+        evictCachedScrollSelectorValue(droppedSelectorIndex, nextScrollSelectorIndex);
         ensureCachedScrollSelectorValue(nextScrollSelectorIndex);
     }
 
     /**
-     * Decrements the <code>selectorIndices</code> whose string representations
-     * will be displayed in the selector.
+     * Drops the cached string of a selector index that scrolled out of the wheel.
      */
-    private void decrementSelectorIndices(int[] selectorIndices) {
-        for (int i = selectorIndices.length - 1; i > 0; i--) {
-            selectorIndices[i] = selectorIndices[i - 1];
-        }
-        int nextScrollSelectorIndex = selectorIndices[1] - 1;
-        if (mWrapSelectorWheel && nextScrollSelectorIndex < mMinValue) {
-            nextScrollSelectorIndex = mMaxValue;
+    private void evictCachedScrollSelectorValue(int droppedSelectorIndex, int enteredSelectorIndex) {
+        if (droppedSelectorIndex != enteredSelectorIndex) {
+            mSelectorIndexToStringCache.remove(droppedSelectorIndex);
+            mSelectorIndexToLinesCache.remove(droppedSelectorIndex);
         }
-        selectorIndices[0] = nextScrollSelectorIndex;
-        ensureCachedScrollSelectorValue(nextScrollSelectorIndex);
     }
 
     /**
@@ -2297,29 +3011,68 @@ public class NumberPicker extends LinearLayout {
         SparseArray<String> cache = mSelectorIndexToStringCache;
         String scrollSelectorValue = cache.get(selectorIndex);
         if (scrollSelectorValue != null) {
+            if (PickerMetrics.sEnabled) {
+                PickerMetrics.increment(PickerMetrics.SELECTOR_CACHE_HIT);
+            }
             return;
         }
+        if (PickerMetrics.sEnabled) {
+            PickerMetrics.increment(PickerMetrics.SELECTOR_CACHE_MISS);
+        }
+        if (isCollectingFrameStats()) {
+            mFrameStats.recordCacheMiss();
+        }
         if (selectorIndex < mMinValue || selectorIndex > mMaxValue) {
             scrollSelectorValue = "";
         } else {
-            if (mDisplayedValues != null) {
+            if (mDisplayedValuesProvider != null) {
                 int displayedValueIndex = selectorIndex - mMinValue;
-                if (displayedValueIndex >= mDisplayedValues.length) {
+                if (displayedValueIndex >= mDisplayedValuesProvider.size()) {
                     cache.remove(selectorIndex);
+                    mSelectorIndexToLinesCache.remove(selectorIndex);
                     return;
                 }
-                scrollSelectorValue = mDisplayedValues[displayedValueIndex];
+                scrollSelectorValue = mDisplayedValuesProvider.get(displayedValueIndex);
             } else {
-                scrollSelectorValue = formatNumber(selectorIndex);
+                scrollSelectorValue = formatLabel(selectorIndex);
             }
         }
         cache.put(selectorIndex, scrollSelectorValue);
+        if (scrollSelectorValue.indexOf('\n') >= 0) {
+            mSelectorIndexToLinesCache.put(selectorIndex, scrollSelectorValue.split("\n"));
+        } else {
+            mSelectorIndexToLinesCache.remove(selectorIndex);
+        }
     }
 
     private String formatNumber(int value) {
+        if (PickerMetrics.sEnabled) {
+            PickerMetrics.increment(PickerMetrics.FORMAT);
+        }
         return (mFormatter != null) ? mFormatter.format(value) : formatNumberWithLocale(value);
     }
 
+    /**
+     * Formats a value through the process wide {@link LabelTable}, so that pickers
+     * sharing a formatter share the label strings too.
+     */
+    private String formatLabel(int value) {
+        final Locale locale = Locale.getDefault();
+        if (locale != mLabelTableLocale) {
+            mLabelTableLocale = locale;
+            mLabelTable = LabelTable.obtain(mFormatter, locale);
+        }
+        if (mLabelTable == null) {
+            return formatNumber(value);
+        }
+        String label = mLabelTable.get(value);
+        if (label == null) {
+            label = formatNumber(value);
+            mLabelTable.put(value, label);
+        }
+        return label;
+    }
+
     /**
      * Updates the view of this NumberPicker. If displayValues were specified in
      * the string corresponding to the index specified by the current value will
@@ -2327,13 +3080,17 @@ public class NumberPicker extends LinearLayout {
      * will be used to format the number.
      */
     private void updateInputTextView() {
+        // in lazy input mode the label is only built once the input text is created
+        if (mSelectedText == null) {
+            return;
+        }
         /*
          * If we don't have displayed values then use the current number else
          * find the correct value in the displayed values for the current
          * number.
          */
-        String text = (mDisplayedValues == null) ? formatNumber(mValue)
-                : mDisplayedValues[mValue - mMinValue];
+        String text = (mDisplayedValuesProvider == null) ? formatLabel(mValue)
+                : mDisplayedValuesProvider.get(mValue - mMinValue);
         if (TextUtils.isEmpty(text)) {
             return;
         }
@@ -2356,6 +3113,70 @@ public class NumberPicker extends LinearLayout {
         }
     }
 
+    /**
+     * Notifies of a value changed by the user according to the dispatch policy.
+     */
+    private void dispatchValueChange(int previous, int current) {
+        if (mValueChangeDispatch == DISPATCH_EVERY_STEP) {
+            notifyChange(previous, current);
+            return;
+        }
+        if (isWrapStep(previous, current)) {
+            // listeners tell wrapping from the values, so never merge it with other steps
+            flushPendingValueChange();
+            notifyChange(previous, current);
+            return;
+        }
+        if (!mHasPendingValueChange) {
+            mHasPendingValueChange = true;
+            mPendingValueChangeFrom = previous;
+            if (mValueChangeDispatch == DISPATCH_PER_FRAME) {
+                postDispatchValueChange();
+            }
+        }
+    }
+
+    private boolean isWrapStep(int previous, int current) {
+        return (previous == mMaxValue && current == mMinValue)
+                || (previous == mMinValue && current == mMaxValue);
+    }
+
+    /**
+     * Notifies of the pending value changes as one change, also called by the composite
+     * pickers before they read or overwrite the values of their NPickers.
+     */
+    void flushPendingValueChange() {
+        if (!mHasPendingValueChange) {
+            return;
+        }
+        mHasPendingValueChange = false;
+        final int previous = mPendingValueChangeFrom;
+        final int current = mValue;
+        if (previous == current) {
+            return;
+        }
+        if (isWrapStep(previous, current) && mMaxValue - mMinValue > 1) {
+            // a run across the whole range would read as a single wrap step, split it
+            final int via = current == mMaxValue ? current - 1 : current + 1;
+            notifyChange(previous, via);
+            notifyChange(via, current);
+        } else {
+            notifyChange(previous, current);
+        }
+    }
+
+    /**
+     * Posts a command dispatching the pending value changes on the next frame.
+     */
+    private void postDispatchValueChange() {
+        if (mDispatchValueChangeCommand == null) {
+            mDispatchValueChangeCommand = new DispatchValueChangeCommand();
+        } else {
+            removeCallbacks(mDispatchValueChangeCommand);
+        }
+        ViewCompat.postOnAnimation(this, mDispatchValueChangeCommand);
+    }
+
     /**
      * Posts a command for changing the current value by one.
      *
@@ -2389,6 +3210,25 @@ public class NumberPicker extends LinearLayout {
         }
     }
 
+    /**
+     * Stops a fling, an adjustment or a long press in progress and snaps the selector
+     * wheel to the current value, e.g. before a recycled picker is bound to new data.
+     * A value change held back by the {@link ValueChangeDispatch} policy is delivered.
+     */
+    public void abortScroll() {
+        removeAllCallbacks();
+        mFlingScroller.forceFinished(true);
+        mAdjustScroller.forceFinished(true);
+        if (mVelocityTracker != null) {
+            mVelocityTracker.recycle();
+            mVelocityTracker = null;
+        }
+        mWheel.resetOffset();
+        onScrollStateChange(OnScrollListener.SCROLL_STATE_IDLE);
+        flushPendingValueChange();
+        invalidate();
+    }
+
     /**
      * Removes all pending callback from the message queue.
      */
@@ -2405,17 +3245,18 @@ public class NumberPicker extends LinearLayout {
      * @return The selected index given its displayed <code>value</code>.
      */
     private int getSelectedPos(String value) {
-        if (mDisplayedValues == null) {
+        if (mDisplayedValuesProvider == null) {
             try {
                 return Integer.parseInt(value);
             } catch (NumberFormatException e) {
                 // Ignore as if it's not a number we don't care
             }
         } else {
-            for (int i = 0; i < mDisplayedValues.length; i++) {
-                // Don't force the user to type in jan when ja will do
-                value = value.toLowerCase();
-                if (mDisplayedValues[i].toLowerCase().startsWith(value)) {
+            // Don't force the user to type in jan when ja will do
+            value = value.toLowerCase();
+            final int size = mDisplayedValuesProvider.size();
+            for (int i = 0; i < size; i++) {
+                if (mDisplayedValuesProvider.get(i).regionMatches(true, 0, value, 0, value.length())) {
                     return mMinValue + i;
                 }
             }
@@ -2438,6 +3279,9 @@ public class NumberPicker extends LinearLayout {
      * {@code selectionStart} to {@code selectionEnd}.
      */
     private void postSetSelectionCommand(int selectionStart, int selectionEnd) {
+        if (mSelectedText == null) {
+            return;
+        }
         if (mSetSelectionCommand == null) {
             mSetSelectionCommand = new SetSelectionCommand(mSelectedText);
         } else {
@@ -2495,7 +3339,7 @@ public class NumberPicker extends LinearLayout {
                 mSetSelectionCommand.cancel();
             }
 
-            if (mDisplayedValues == null) {
+            if (mDisplayedValuesProvider == null) {
                 CharSequence filtered = super.filter(source, start, end, dest, dstart, dend);
                 if (filtered == null) {
                     filtered = source.subSequence(start, end);
@@ -2529,7 +3373,9 @@ public class NumberPicker extends LinearLayout {
                 String result = String.valueOf(dest.subSequence(0, dstart)) + filtered
                         + dest.subSequence(dend, dest.length());
                 String str = String.valueOf(result).toLowerCase();
-                for (String val : mDisplayedValues) {
+                final int size = mDisplayedValuesProvider.size();
+                for (int i = 0; i < size; i++) {
+                    String val = mDisplayedValuesProvider.get(i);
                     String valLowerCase = val.toLowerCase();
                     if (valLowerCase.startsWith(str)) {
                         postSetSelectionCommand(result.length(), val.length());
@@ -2547,14 +3393,10 @@ public class NumberPicker extends LinearLayout {
      */
     private void ensureScrollWheelAdjusted() {
         // adjust to the closest value
-        int delta = mInitialScrollOffset - mCurrentScrollOffset;
+        int delta = mWheel.getAdjustDelta();
         if (delta == 0) {
             return;
         }
-
-        if (Math.abs(delta) > mSelectorElementSize / 2) {
-            delta += (delta > 0) ? -mSelectorElementSize : mSelectorElementSize;
-        }
         if (isHorizontalMode()) {
             mPreviousScrollerX = 0;
             mAdjustScroller.startScroll(0, 0, delta, 0, SELECTOR_ADJUSTMENT_DURATION_MILLIS);
@@ -2565,6 +3407,42 @@ public class NumberPicker extends LinearLayout {
         invalidate();
     }
 
+    /**
+     * Creates the same input text as {@link R.layout#number_picker} without inflating it.
+     */
+    private static EditText createInputText(Context context) {
+        final EditText inputText = new CustomEditText(context);
+        inputText.setId(R.id.np__numberpicker_input);
+        inputText.setLayoutParams(new LayoutParams(LayoutParams.MATCH_PARENT,
+                LayoutParams.WRAP_CONTENT));
+        ViewCompat.setBackground(inputText, null);
+        inputText.setGravity(Gravity.CENTER);
+        ViewCompat.setImportantForAccessibility(inputText,
+                ViewCompat.IMPORTANT_FOR_ACCESSIBILITY_NO);
+        inputText.setHint(null);
+        inputText.setSingleLine(true);
+        inputText.setVisibility(INVISIBLE);
+        return inputText;
+    }
+
+    /**
+     * The input text of the layout, it gives up the focus once editing is done.
+     */
+    private static class CustomEditText extends EditText {
+
+        CustomEditText(Context context) {
+            super(context);
+        }
+
+        @Override
+        public void onEditorAction(int actionCode) {
+            super.onEditorAction(actionCode);
+            if (actionCode == EditorInfo.IME_ACTION_DONE) {
+                clearFocus();
+            }
+        }
+    }
+
     /**
      * Command for setting the input text selection.
      */
@@ -2607,6 +3485,16 @@ public class NumberPicker extends LinearLayout {
         }
     }
 
+    /**
+     * Command for dispatching the pending value changes.
+     */
+    class DispatchValueChangeCommand implements Runnable {
+        @Override
+        public void run() {
+            flushPendingValueChange();
+        }
+    }
+
     /**
      * Command for changing the current value from a long press by one.
      */
@@ -2650,12 +3538,7 @@ public class NumberPicker extends LinearLayout {
             return null;
         }
 
-        return new Formatter() {
-            @Override
-            public String format(int i) {
-                return String.format(Locale.getDefault(), formatter, i);
-            }
-        };
+        return new PatternFormatter(formatter);
     }
 
     private void setWidthAndHeight() {
@@ -2729,7 +3612,8 @@ public class NumberPicker extends LinearLayout {
         mRealWheelItemCount = count;
         mWheelItemCount = Math.max(count, DEFAULT_WHEEL_ITEM_COUNT);
         mWheelMiddleItemIndex = mWheelItemCount / 2;
-        mSelectorIndices = new int[mWheelItemCount];
+        mWheel.setItemCount(mWheelItemCount);
+        mSelectorIndicesValid = false;
     }
 
     public void setFormatter(final String formatter) {
@@ -2758,11 +3642,15 @@ public class NumberPicker extends LinearLayout {
 
     public void setSelectedTextAlign(@Align int align) {
         mSelectedTextAlign = align;
+        updateTextPaints();
     }
 
     public void setSelectedTextColor(@ColorInt int color) {
         mSelectedTextColor = color;
-        mSelectedText.setTextColor(mSelectedTextColor);
+        if (mSelectedText != null) {
+            mSelectedText.setTextColor(mSelectedTextColor);
+        }
+        updateTextPaints();
     }
 
     public void setSelectedTextColorResource(@ColorRes int colorId) {
@@ -2771,7 +3659,10 @@ public class NumberPicker extends LinearLayout {
 
     public void setSelectedTextSize(float textSize) {
         mSelectedTextSize = textSize;
-        mSelectedText.setTextSize(px2sp(mSelectedTextSize));
+        if (mSelectedText != null) {
+            mSelectedText.setTextSize(px2sp(mSelectedTextSize));
+        }
+        updateTextPaints();
     }
 
     public void setSelectedTextSize(@DimenRes int dimenId) {
@@ -2780,10 +3671,12 @@ public class NumberPicker extends LinearLayout {
 
     public void setSelectedTextStrikeThru(boolean strikeThruText) {
         mSelectedTextStrikeThru = strikeThruText;
+        updateTextPaints();
     }
 
     public void setSelectedTextUnderline(boolean underlineText) {
         mSelectedTextUnderline = underlineText;
+        updateTextPaints();
     }
 
     public void setSelectedTypeface(Typeface typeface) {
@@ -2795,13 +3688,14 @@ public class NumberPicker extends LinearLayout {
         } else {
             mSelectorWheelPaint.setTypeface(Typeface.MONOSPACE);
         }
+        updateTextPaints();
     }
 
     public void setSelectedTypeface(String string, int style) {
         if (TextUtils.isEmpty(string)) {
             return;
         }
-        setSelectedTypeface(Typeface.create(string, style));
+        setSelectedTypeface(PickerResources.getTypeface(string, style));
     }
 
     public void setSelectedTypeface(String string) {
@@ -2818,11 +3712,13 @@ public class NumberPicker extends LinearLayout {
 
     public void setTextAlign(@Align int align) {
         mTextAlign = align;
+        updateTextPaints();
     }
 
     public void setTextColor(@ColorInt int color) {
         mTextColor = color;
         mSelectorWheelPaint.setColor(mTextColor);
+        updateTextPaints();
     }
 
     public void setTextColorResource(@ColorRes int colorId) {
@@ -2832,6 +3728,7 @@ public class NumberPicker extends LinearLayout {
     public void setTextSize(float textSize) {
         mTextSize = textSize;
         mSelectorWheelPaint.setTextSize(mTextSize);
+        updateTextPaints();
     }
 
     public void setTextSize(@DimenRes int dimenId) {
@@ -2840,27 +3737,30 @@ public class NumberPicker extends LinearLayout {
 
     public void setTextStrikeThru(boolean strikeThruText) {
         mTextStrikeThru = strikeThruText;
+        updateTextPaints();
     }
 
     public void setTextUnderline(boolean underlineText) {
         mTextUnderline = underlineText;
+        updateTextPaints();
     }
 
     public void setTypeface(Typeface typeface) {
         mTypeface = typeface;
+        if (mSelectedText != null) {
+            mSelectedText.setTypeface(mTypeface != null ? mTypeface : Typeface.MONOSPACE);
+        }
         if (mTypeface != null) {
-            mSelectedText.setTypeface(mTypeface);
             setSelectedTypeface(mSelectedTypeface);
-        } else {
-            mSelectedText.setTypeface(Typeface.MONOSPACE);
         }
+        updateTextPaints();
     }
 
     public void setTypeface(String string, int style) {
         if (TextUtils.isEmpty(string)) {
             return;
         }
-        setTypeface(Typeface.create(string, style));
+        setTypeface(PickerResources.getTypeface(string, style));
     }
 
     public void setTypeface(String string) {
@@ -2886,13 +3786,57 @@ public class NumberPicker extends LinearLayout {
     }
 
     public void setImeOptions(int imeOptions) {
-        mSelectedText.setImeOptions(imeOptions);
+        mImeOptions = imeOptions;
+        if (mSelectedText != null) {
+            mSelectedText.setImeOptions(imeOptions);
+        }
     }
 
     public void setItemSpacing(int itemSpacing) {
         mItemSpacing = itemSpacing;
     }
 
+    /**
+     * Sets whether the labels are pre-rendered once, one bitmap per label, and blitted
+     * when drawing instead of shaping their glyphs on every frame. Worth it for complex scripts and
+     * custom typefaces, multi-line labels are always drawn as text.
+     *
+     * @param enabled True to enable the text atlas.
+     * @see #setTextAtlasMaxBytes(int)
+     */
+    public void setTextAtlasEnabled(boolean enabled) {
+        if (mTextAtlasEnabled == enabled) {
+            return;
+        }
+        mTextAtlasEnabled = enabled;
+        if (enabled) {
+            mSelectedLabelBitmaps = new LabelBitmapCache(mSelectedTextPaint, mTextAtlasMaxBytes / 2);
+            mLabelBitmaps = new LabelBitmapCache(mTextPaint, mTextAtlasMaxBytes / 2);
+        } else {
+            clearLabelBitmaps();
+            mSelectedLabelBitmaps = null;
+            mLabelBitmaps = null;
+        }
+        invalidate();
+    }
+
+    /**
+     * Sets the budget in bytes of the pre-rendered labels, the least recently used ones
+     * are evicted beyond it.
+     *
+     * @param maxBytes The budget in bytes.
+     */
+    public void setTextAtlasMaxBytes(int maxBytes) {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("maxBytes must be > 0");
+        }
+        mTextAtlasMaxBytes = maxBytes;
+        if (mSelectedLabelBitmaps != null) {
+            mSelectedLabelBitmaps.resize(maxBytes / 2);
+            mLabelBitmaps.resize(maxBytes / 2);
+        }
+    }
+
     public boolean isHorizontalMode() {
         return getOrientation() == HORIZONTAL;
     }
@@ -2905,6 +3849,14 @@ public class NumberPicker extends LinearLayout {
         return mAccessibilityDescriptionEnabled;
     }
 
+    public boolean isTextAtlasEnabled() {
+        return mTextAtlasEnabled;
+    }
+
+    public int getTextAtlasMaxBytes() {
+        return mTextAtlasMaxBytes;
+    }
+
     public int getDividerColor() {
         return mDividerColor;
     }
@@ -2997,4 +3949,24 @@ public class NumberPicker extends LinearLayout {
         return mMaxFlingVelocityCoefficient;
     }
 
+    /**
+     * Adapts displayed values set as an array.
+     */
+    private static final class ArrayDisplayedValuesProvider implements DisplayedValuesProvider {
+        private final String[] mValues;
+
+        ArrayDisplayedValuesProvider(String[] values) {
+            mValues = values;
+        }
+
+        @Override
+        public int size() {
+            return mValues.length;
+        }
+
+        @Override
+        public String get(int index) {
+            return mValues[index];
+        }
+    }
 }
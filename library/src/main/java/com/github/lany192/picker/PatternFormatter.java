@@ -0,0 +1,176 @@
+package com.github.lany192.picker;
+
+import java.util.Locale;
+
+/**
+ * A {@link NumberPicker.Formatter} for printf patterns such as "%02d年".
+ * <p>
+ * Patterns made of a prefix, a single <code>%d</code>, <code>%Nd</code> or
+ * <code>%0Nd</code> conversion and a suffix are parsed once and formatted by writing
+ * the digits straight into a reusable buffer. Any other pattern falls back to
+ * {@link String#format(Locale, String, Object...)}.
+ * </p>
+ */
+final class PatternFormatter implements NumberPicker.Formatter {
+
+    /**
+     * The widest width we are willing to pad to.
+     */
+    private static final int MAX_WIDTH = 32;
+
+    /**
+     * The max number of characters of an int magnitude.
+     */
+    private static final int MAX_INT_DIGITS = 10;
+
+    private final String mPattern;
+
+    /**
+     * Whether the pattern could be compiled, otherwise we use {@link String#format}.
+     */
+    private final boolean mCompiled;
+
+    private final char[] mPrefix;
+
+    private final char[] mSuffix;
+
+    /**
+     * The minimum width of the number including the sign.
+     */
+    private final int mWidth;
+
+    /**
+     * Flag whether the number is padded with zeros instead of spaces.
+     */
+    private final boolean mZeroPadded;
+
+    private final char[] mBuffer;
+
+    private Locale mLocale;
+
+    private char mZeroDigit;
+
+    PatternFormatter(String pattern) {
+        mPattern = pattern;
+        final StringBuilder prefix = new StringBuilder();
+        final StringBuilder suffix = new StringBuilder();
+        int width = 0;
+        boolean zeroPadded = false;
+        boolean converted = false;
+        boolean compiled = true;
+        final int length = pattern.length();
+        int i = 0;
+        while (i < length && compiled) {
+            char c = pattern.charAt(i++);
+            StringBuilder literal = converted ? suffix : prefix;
+            if (c != '%') {
+                literal.append(c);
+                continue;
+            }
+            if (i >= length) {
+                compiled = false;
+                break;
+            }
+            c = pattern.charAt(i);
+            if (c == '%') {
+                literal.append('%');
+                i++;
+                continue;
+            }
+            if (c == 'n') {
+                literal.append(System.getProperty("line.separator", "\n"));
+                i++;
+                continue;
+            }
+            if (converted) {
+                // only a single conversion is supported
+                compiled = false;
+                break;
+            }
+            if (c == '0') {
+                zeroPadded = true;
+                i++;
+            }
+            while (i < length && (c = pattern.charAt(i)) >= '0' && c <= '9') {
+                width = width * 10 + (c - '0');
+                if (width > MAX_WIDTH) {
+                    compiled = false;
+                    break;
+                }
+                i++;
+            }
+            if (!compiled || i >= length || pattern.charAt(i) != 'd'
+                    || (zeroPadded && width == 0)) {
+                compiled = false;
+                break;
+            }
+            i++;
+            converted = true;
+        }
+        mCompiled = compiled && converted;
+        mPrefix = prefix.toString().toCharArray();
+        mSuffix = suffix.toString().toCharArray();
+        mWidth = width;
+        mZeroPadded = zeroPadded;
+        mBuffer = mCompiled
+                ? new char[mPrefix.length + Math.max(width, MAX_INT_DIGITS + 1) + mSuffix.length]
+                : null;
+    }
+
+    @Override
+    public synchronized String format(int value) {
+        final Locale locale = Locale.getDefault();
+        if (!mCompiled) {
+            return String.format(locale, mPattern, value);
+        }
+        if (locale != mLocale) {
+            mLocale = locale;
+            mZeroDigit = NumberPicker.TwoDigitFormatter.getZeroDigit(locale);
+        }
+        final char[] buffer = mBuffer;
+        int length = 0;
+        System.arraycopy(mPrefix, 0, buffer, 0, mPrefix.length);
+        length += mPrefix.length;
+
+        final boolean negative = value < 0;
+        long magnitude = negative ? -(long) value : value;
+        int digits = 1;
+        for (long rest = magnitude / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        final int numberLength = digits + (negative ? 1 : 0);
+        final int padding = Math.max(mWidth - numberLength, 0);
+        if (!mZeroPadded) {
+            for (int i = 0; i < padding; i++) {
+                buffer[length++] = ' ';
+            }
+        }
+        if (negative) {
+            buffer[length++] = '-';
+        }
+        if (mZeroPadded) {
+            for (int i = 0; i < padding; i++) {
+                buffer[length++] = mZeroDigit;
+            }
+        }
+        length += digits;
+        for (int i = length - 1; i >= length - digits; i--) {
+            buffer[i] = (char) (mZeroDigit + (int) (magnitude % 10));
+            magnitude /= 10;
+        }
+
+        System.arraycopy(mSuffix, 0, buffer, length, mSuffix.length);
+        length += mSuffix.length;
+        return new String(buffer, 0, length);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof PatternFormatter && mPattern.equals(((PatternFormatter) o).mPattern);
+    }
+
+    @Override
+    public int hashCode() {
+        return mPattern.hashCode();
+    }
+}
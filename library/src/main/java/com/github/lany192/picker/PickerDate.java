@@ -0,0 +1,219 @@
+package com.github.lany192.picker;
+
+import java.util.TimeZone;
+
+/**
+ * A mutable date and time of a picker kept as primitive fields plus a packed key, the
+ * seconds since January 1, 1970 00:00:00 in local time, so reading a field is free and
+ * comparing two dates is a single comparison.
+ * <p>
+ * All calendar arithmetic is delegated to a {@link DateEngine}. Setting fields is
+ * lenient like {@link java.util.Calendar}, out of range values roll over into the
+ * greater fields.
+ * </p>
+ */
+final class PickerDate implements Comparable<PickerDate> {
+
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int SECONDS_PER_HOUR = 60 * SECONDS_PER_MINUTE;
+    private static final int SECONDS_PER_DAY = 24 * SECONDS_PER_HOUR;
+    private static final long MILLIS_PER_DAY = 1000L * SECONDS_PER_DAY;
+
+    private final int[] mTempFields = new int[3];
+
+    private int mYear = 1970;
+    private int mMonth;
+    private int mDayOfMonth = 1;
+    private int mHourOfDay;
+    private int mMinute;
+    private int mSecond;
+    private long mEpochDay;
+
+    /**
+     * The seconds since January 1, 1970 00:00:00 in local time, ordered like the dates.
+     */
+    private long mKey;
+
+    int getYear() {
+        return mYear;
+    }
+
+    int getMonth() {
+        return mMonth;
+    }
+
+    int getDayOfMonth() {
+        return mDayOfMonth;
+    }
+
+    int getHourOfDay() {
+        return mHourOfDay;
+    }
+
+    int getMinute() {
+        return mMinute;
+    }
+
+    int getSecond() {
+        return mSecond;
+    }
+
+    long getEpochDay() {
+        return mEpochDay;
+    }
+
+    /**
+     * @return The seconds since January 1, 1970 00:00:00 in local time, a later date
+     * always has a greater key.
+     */
+    long getKey() {
+        return mKey;
+    }
+
+    private void updateKey() {
+        mKey = mEpochDay * SECONDS_PER_DAY + getSecondOfDay();
+    }
+
+    private int getSecondOfDay() {
+        return mHourOfDay * SECONDS_PER_HOUR + mMinute * SECONDS_PER_MINUTE + mSecond;
+    }
+
+    void set(PickerDate date) {
+        mYear = date.mYear;
+        mMonth = date.mMonth;
+        mDayOfMonth = date.mDayOfMonth;
+        mHourOfDay = date.mHourOfDay;
+        mMinute = date.mMinute;
+        mSecond = date.mSecond;
+        mEpochDay = date.mEpochDay;
+        mKey = date.mKey;
+    }
+
+    /**
+     * Sets the date and time, out of range fields roll over into the greater fields.
+     *
+     * @param engine     The calendar arithmetic.
+     * @param year       The year.
+     * @param month      The month <strong>starting from zero</strong>.
+     * @param dayOfMonth The day of the month.
+     * @param hourOfDay  The hour of the day.
+     * @param minute     The minute.
+     * @param second     The second.
+     */
+    void set(DateEngine engine, int year, int month, int dayOfMonth,
+             int hourOfDay, int minute, int second) {
+        final long seconds = (long) hourOfDay * SECONDS_PER_HOUR
+                + (long) minute * SECONDS_PER_MINUTE + second;
+        final long extraDays = floorDiv(seconds, SECONDS_PER_DAY);
+        setSecondOfDay((int) (seconds - extraDays * SECONDS_PER_DAY));
+
+        if (month < 0 || month >= MONTHS_PER_YEAR) {
+            final long months = (long) year * MONTHS_PER_YEAR + month;
+            year = (int) floorDiv(months, MONTHS_PER_YEAR);
+            month = (int) (months - (long) year * MONTHS_PER_YEAR);
+        }
+        if (extraDays == 0 && dayOfMonth >= 1 && dayOfMonth <= engine.getDaysInMonth(year, month)) {
+            mYear = year;
+            mMonth = month;
+            mDayOfMonth = dayOfMonth;
+            mEpochDay = engine.toEpochDay(year, month, dayOfMonth);
+            updateKey();
+        } else {
+            setEpochDay(engine, engine.toEpochDay(year, month, 1) + dayOfMonth - 1 + extraDays);
+        }
+    }
+
+    /**
+     * Sets the date from the given epoch day, the time of day is kept.
+     *
+     * @param engine   The calendar arithmetic.
+     * @param epochDay The number of days since January 1, 1970.
+     */
+    void setEpochDay(DateEngine engine, long epochDay) {
+        engine.fromEpochDay(epochDay, mTempFields);
+        mYear = mTempFields[0];
+        mMonth = mTempFields[1];
+        mDayOfMonth = mTempFields[2];
+        mEpochDay = epochDay;
+        updateKey();
+    }
+
+    void setTime(int hourOfDay, int minute, int second) {
+        mHourOfDay = hourOfDay;
+        mMinute = minute;
+        mSecond = second;
+        updateKey();
+    }
+
+    private void setSecondOfDay(int secondOfDay) {
+        mHourOfDay = secondOfDay / SECONDS_PER_HOUR;
+        mMinute = secondOfDay / SECONDS_PER_MINUTE % 60;
+        mSecond = secondOfDay % SECONDS_PER_MINUTE;
+        updateKey();
+    }
+
+    void addDays(DateEngine engine, int days) {
+        setEpochDay(engine, mEpochDay + days);
+    }
+
+    /**
+     * Adds months, the day of the month is pinned to the length of the resulting month
+     * like {@link java.util.Calendar#add(int, int)} does.
+     */
+    void addMonths(DateEngine engine, int months) {
+        final long total = (long) mYear * MONTHS_PER_YEAR + mMonth + months;
+        final int year = (int) floorDiv(total, MONTHS_PER_YEAR);
+        final int month = (int) (total - (long) year * MONTHS_PER_YEAR);
+        final int dayOfMonth = Math.min(mDayOfMonth, engine.getDaysInMonth(year, month));
+        set(engine, year, month, dayOfMonth, mHourOfDay, mMinute, mSecond);
+    }
+
+    /**
+     * Sets the time from milliseconds since January 1, 1970 00:00:00 in
+     * {@link TimeZone#getDefault()} time zone, dropping the milliseconds.
+     */
+    void setTimeInMillis(DateEngine engine, long millis) {
+        final long localMillis = millis + TimeZone.getDefault().getOffset(millis);
+        final long epochDay = floorDiv(localMillis, MILLIS_PER_DAY);
+        setSecondOfDay((int) ((localMillis - epochDay * MILLIS_PER_DAY) / 1000));
+        setEpochDay(engine, epochDay);
+    }
+
+    /**
+     * @return The milliseconds since January 1, 1970 00:00:00 in
+     * {@link TimeZone#getDefault()} time zone.
+     */
+    long getTimeInMillis() {
+        final long localMillis = mEpochDay * MILLIS_PER_DAY + getSecondOfDay() * 1000L;
+        final TimeZone timeZone = TimeZone.getDefault();
+        final int offset = timeZone.getOffset(localMillis - timeZone.getRawOffset());
+        final long millis = localMillis - offset;
+        // a local time skipped by a daylight saving transition moves forward like Calendar
+        final int actualOffset = timeZone.getOffset(millis);
+        return actualOffset == offset ? millis : localMillis - actualOffset;
+    }
+
+    @Override
+    public int compareTo(PickerDate date) {
+        return mKey < date.mKey ? -1 : (mKey == date.mKey ? 0 : 1);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof PickerDate && mKey == ((PickerDate) o).mKey;
+    }
+
+    @Override
+    public int hashCode() {
+        return (int) (mKey ^ (mKey >>> 32));
+    }
+
+    private static long floorDiv(long x, long y) {
+        long q = x / y;
+        if ((x % y != 0) && ((x ^ y) < 0)) {
+            q--;
+        }
+        return q;
+    }
+}
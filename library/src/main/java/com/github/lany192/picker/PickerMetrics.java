@@ -0,0 +1,173 @@
+package com.github.lany192.picker;
+
+import androidx.annotation.IntDef;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Process wide counters of the work done by the pickers, to check in the field that a
+ * screen does not format, measure or lay out its pickers more than needed.
+ * <p>
+ * The counters are disabled by default, then counting is a single branch on a flag.
+ * Once enabled they are incremented without locking and can be read at any time
+ * through a {@link Snapshot}.
+ * </p>
+ */
+public final class PickerMetrics {
+
+    /**
+     * Calls of the formatter or the default number format of a {@link NumberPicker}.
+     */
+    public static final int FORMAT = 0;
+
+    /**
+     * Labels of the selector wheel found in the cache of their picker.
+     */
+    public static final int SELECTOR_CACHE_HIT = 1;
+
+    /**
+     * Labels of the selector wheel missing from the cache of their picker.
+     */
+    public static final int SELECTOR_CACHE_MISS = 2;
+
+    /**
+     * Computations of the max width of a {@link NumberPicker}.
+     */
+    public static final int COMPUTE_MAX_WIDTH = 3;
+
+    /**
+     * Calls of {@link android.view.View#invalidate()} on the pickers.
+     */
+    public static final int INVALIDATE = 4;
+
+    /**
+     * Calls of {@link android.view.View#requestLayout()} on the pickers.
+     */
+    public static final int REQUEST_LAYOUT = 5;
+
+    /**
+     * Updates of the columns of the date pickers after a change of their date or range.
+     */
+    public static final int UPDATE_NPICKERS = 6;
+
+    private static final int COUNTER_COUNT = 7;
+
+    private static final String[] NAMES = {
+            "format",
+            "selectorCacheHit",
+            "selectorCacheMiss",
+            "computeMaxWidth",
+            "invalidate",
+            "requestLayout",
+            "updateNPickers",
+    };
+
+    @IntDef({FORMAT, SELECTOR_CACHE_HIT, SELECTOR_CACHE_MISS, COMPUTE_MAX_WIDTH, INVALIDATE,
+            REQUEST_LAYOUT, UPDATE_NPICKERS})
+    @Retention(RetentionPolicy.SOURCE)
+    public @interface Counter {
+    }
+
+    /**
+     * Flag whether the counters are incremented, read by the pickers before counting.
+     */
+    static volatile boolean sEnabled;
+
+    private static final AtomicLongArray sCounters = new AtomicLongArray(COUNTER_COUNT);
+
+    private PickerMetrics() {
+    }
+
+    /**
+     * Enables or disables the counters, their values are kept.
+     *
+     * @param enabled Whether to count.
+     */
+    public static void setEnabled(boolean enabled) {
+        sEnabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return sEnabled;
+    }
+
+    /**
+     * Increments a counter, callers check {@link #sEnabled} first.
+     */
+    static void increment(@Counter int counter) {
+        sCounters.incrementAndGet(counter);
+    }
+
+    /**
+     * Sets all counters back to zero.
+     */
+    public static void reset() {
+        for (int i = 0; i < COUNTER_COUNT; i++) {
+            sCounters.set(i, 0);
+        }
+    }
+
+    /**
+     * @return The current values of the counters.
+     */
+    public static Snapshot snapshot() {
+        final long[] values = new long[COUNTER_COUNT];
+        for (int i = 0; i < COUNTER_COUNT; i++) {
+            values[i] = sCounters.get(i);
+        }
+        return new Snapshot(values);
+    }
+
+    /**
+     * The values of the counters at one point in time. Each counter is read atomically,
+     * the counters are not read together.
+     */
+    public static final class Snapshot {
+        private final long[] mValues;
+
+        Snapshot(long[] values) {
+            mValues = values;
+        }
+
+        /**
+         * @param counter The counter, e.g. {@link #FORMAT}.
+         * @return The value of the counter.
+         */
+        public long get(@Counter int counter) {
+            return mValues[counter];
+        }
+
+        /**
+         * @return The name of a counter as used by {@link #toString()}.
+         */
+        public static String getName(@Counter int counter) {
+            return NAMES[counter];
+        }
+
+        /**
+         * @param previous An earlier snapshot.
+         * @return The counts since the earlier snapshot.
+         */
+        public Snapshot minus(Snapshot previous) {
+            final long[] values = new long[COUNTER_COUNT];
+            for (int i = 0; i < COUNTER_COUNT; i++) {
+                values[i] = mValues[i] - previous.mValues[i];
+            }
+            return new Snapshot(values);
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder builder = new StringBuilder("{");
+            for (int i = 0; i < COUNTER_COUNT; i++) {
+                if (i > 0) {
+                    builder.append(", ");
+                }
+                builder.append(NAMES[i]).append('=').append(mValues[i]);
+            }
+            return builder.append('}').toString();
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.github.lany192.picker;
+
+import android.graphics.Typeface;
+import android.text.format.DateUtils;
+import android.view.animation.DecelerateInterpolator;
+import android.view.animation.Interpolator;
+
+import java.text.DateFormatSymbols;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Process wide resources shared by all pickers, so creating or recycling a picker does
+ * not resolve the same typefaces, interpolators and localized names again.
+ * <p>
+ * The returned arrays are shared and must not be modified.
+ * </p>
+ */
+final class PickerResources {
+
+    /**
+     * The interpolator of the adjust scrollers, stateless so one instance serves all.
+     */
+    private static final Interpolator ADJUST_INTERPOLATOR = new DecelerateInterpolator(2.5f);
+
+    private static final Map<String, Typeface> sTypefaces = new HashMap<>();
+
+    private static final Map<Locale, String[]> sShortMonths = new HashMap<>();
+
+    private static final Map<Locale, String[]> sAmPmStrings = new HashMap<>();
+
+    private PickerResources() {
+    }
+
+    /**
+     * Gets the typeface of the given family and style like {@link Typeface#create(String, int)}.
+     *
+     * @param familyName The family name, null for the default family.
+     * @param style      The style.
+     * @return The shared typeface.
+     */
+    static Typeface getTypeface(String familyName, int style) {
+        final String key = familyName == null ? String.valueOf(style) : style + ":" + familyName;
+        synchronized (sTypefaces) {
+            Typeface typeface = sTypefaces.get(key);
+            if (typeface == null) {
+                typeface = Typeface.create(familyName, style);
+                sTypefaces.put(key, typeface);
+            }
+            return typeface;
+        }
+    }
+
+    static Interpolator getAdjustInterpolator() {
+        return ADJUST_INTERPOLATOR;
+    }
+
+    /**
+     * Gets the medium length month names of the default locale, January first.
+     *
+     * @return The shared month names.
+     */
+    static String[] getShortMonths() {
+        // DateUtils names the months in the default locale, whatever locale is asked for
+        final Locale locale = Locale.getDefault();
+        synchronized (sShortMonths) {
+            String[] shortMonths = sShortMonths.get(locale);
+            if (shortMonths == null) {
+                shortMonths = new String[Calendar.DECEMBER + 1];
+                for (int i = 0; i < shortMonths.length; i++) {
+                    shortMonths[i] = DateUtils.getMonthString(Calendar.JANUARY + i, DateUtils.LENGTH_MEDIUM);
+                }
+                sShortMonths.put(locale, shortMonths);
+            }
+            return shortMonths;
+        }
+    }
+
+    /**
+     * Gets the am and pm strings.
+     *
+     * @param locale The locale of the strings.
+     * @return The shared am and pm strings.
+     */
+    static String[] getAmPmStrings(Locale locale) {
+        synchronized (sAmPmStrings) {
+            String[] amPmStrings = sAmPmStrings.get(locale);
+            if (amPmStrings == null) {
+                amPmStrings = new DateFormatSymbols(locale).getAmPmStrings();
+                sAmPmStrings.put(locale, amPmStrings);
+            }
+            return amPmStrings;
+        }
+    }
+}
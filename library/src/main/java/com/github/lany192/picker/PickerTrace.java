@@ -0,0 +1,61 @@
+package com.github.lany192.picker;
+
+import androidx.core.os.TraceCompat;
+
+/**
+ * Opt-in trace sections around the picker work, shown in systrace and Perfetto captures
+ * of the app, e.g. <code>NumberPicker#onDraw:year</code> within <code>View#draw</code>.
+ * <p>
+ * Tracing is disabled by default, then each traced method costs a single branch on a
+ * flag. The sections of a {@link NumberPicker} are tagged with its column, see
+ * {@link NumberPicker#setTraceTag(String)}.
+ * </p>
+ */
+public final class PickerTrace {
+
+    /**
+     * Flag whether the sections are emitted, read by the pickers before tracing.
+     */
+    static volatile boolean sEnabled;
+
+    private PickerTrace() {
+    }
+
+    /**
+     * Enables or disables the trace sections of all pickers.
+     *
+     * @param enabled Whether to trace.
+     */
+    public static void setEnabled(boolean enabled) {
+        sEnabled = enabled;
+    }
+
+    public static boolean isEnabled() {
+        return sEnabled;
+    }
+
+    /**
+     * Begins a section if tracing is enabled, to be ended with {@link #endSection(boolean)}.
+     *
+     * @param sectionName The name of the section.
+     * @return Whether a section was begun.
+     */
+    static boolean beginSection(String sectionName) {
+        if (!sEnabled) {
+            return false;
+        }
+        TraceCompat.beginSection(sectionName);
+        return true;
+    }
+
+    /**
+     * Ends the section begun by {@link #beginSection(String)}.
+     *
+     * @param begun The value returned by {@link #beginSection(String)}.
+     */
+    static void endSection(boolean begun) {
+        if (begun) {
+            TraceCompat.endSection();
+        }
+    }
+}
@@ -13,6 +13,7 @@ import android.view.accessibility.AccessibilityEvent;
 import android.view.accessibility.AccessibilityNodeInfo;
 import android.view.inputmethod.EditorInfo;
 import android.view.inputmethod.InputMethodManager;
+import android.widget.LinearLayout;
 import android.widget.TextView;
 
 import androidx.annotation.ColorInt;
@@ -60,7 +61,16 @@ public class TimePicker extends BasePicker {
         super(context, attrs, defStyle);
         setCurrentLocale(Locale.getDefault());
 
-        LayoutInflater.from(getContext()).inflate(R.layout.time_picker, this);
+        if (isInflateLayout()) {
+            LayoutInflater.from(getContext()).inflate(R.layout.time_picker, this);
+        } else {
+            LinearLayout layout = addNPickersLayout(false);
+            addNPicker(layout, R.id.picker_time_hour, true);
+            addNPickerDivider(layout, R.id.picker_time_first_divider);
+            addNPicker(layout, R.id.picker_time_minute, true);
+            addNPickerDivider(layout, R.id.picker_time_second_divider);
+            addNPicker(layout, R.id.picker_time_second, true);
+        }
 
         // hour
         mHourNPicker = findViewById(R.id.picker_time_hour);
@@ -198,6 +208,29 @@ public class TimePicker extends BasePicker {
         mOnChangedListener = listener;
     }
 
+    @Override
+    public void reset() {
+        // a held back change of the aborted NPickers still reaches the old listener
+        abortScroll(mHourNPicker, mMinuteNPicker, mSecondNPicker);
+        mOnChangedListener = null;
+    }
+
+    /**
+     * Binds a reused picker to a time without notifying any listener, see {@link #reset()}.
+     *
+     * @param currentHour   The hour in the range (0-23).
+     * @param currentMinute The minute (0-59).
+     * @param currentSecond The second (0-59).
+     * @param listener      The listener of the bound time, may be null.
+     */
+    public void bind(int currentHour, int currentMinute, int currentSecond, OnChangedListener listener) {
+        reset();
+        setCurrentHour(currentHour);
+        setCurrentMinute(currentMinute);
+        setCurrentSecond(currentSecond);
+        mOnChangedListener = listener;
+    }
+
     /**
      * @return The current hour in the range (0-23).
      */
@@ -0,0 +1,316 @@
+package com.github.lany192.picker;
+
+/**
+ * The wheel math of {@link NumberPicker} without any Android dependency: the window of
+ * selector indices shown by the wheel, the wrap arithmetic, the scroll offset and the
+ * snapping to the closest item.
+ * <p>
+ * The model only holds primitives and one array sized by the item count, so scrolling
+ * and stepping never allocate. It does not format, draw or notify anything; a front-end
+ * drives it and reacts to the steps it reports, see {@link NumberPicker#scrollBy(int, int)}.
+ * </p>
+ */
+public final class WheelModel {
+
+    private int mMinValue;
+
+    private int mMaxValue;
+
+    private boolean mWrap;
+
+    /**
+     * The selector indices shown by the wheel, the selected one in the middle.
+     */
+    private int[] mIndices;
+
+    private int mMiddleItemIndex;
+
+    /**
+     * The size of a selector element (text + gap).
+     */
+    private int mElementSize;
+
+    /**
+     * The offset at which the selected item is centered.
+     */
+    private int mInitialOffset = Integer.MIN_VALUE;
+
+    /**
+     * The current offset of the wheel.
+     */
+    private int mCurrentOffset;
+
+    /**
+     * @param itemCount The number of items shown by the wheel.
+     */
+    public WheelModel(int itemCount) {
+        setItemCount(itemCount);
+    }
+
+    /**
+     * Sets the number of items shown by the wheel, the indices must be filled again.
+     *
+     * @param itemCount The number of items.
+     */
+    public void setItemCount(int itemCount) {
+        if (itemCount < 1) {
+            throw new IllegalArgumentException("Wheel item count must be >= 1");
+        }
+        mIndices = new int[itemCount];
+        mMiddleItemIndex = itemCount / 2;
+    }
+
+    public int getItemCount() {
+        return mIndices.length;
+    }
+
+    public int getMiddleItemIndex() {
+        return mMiddleItemIndex;
+    }
+
+    /**
+     * Sets the range of the wheel, the indices must be filled again.
+     *
+     * @param minValue The min value inclusive.
+     * @param maxValue The max value inclusive.
+     * @param wrap     Whether the wheel wraps around.
+     */
+    public void setRange(int minValue, int maxValue, boolean wrap) {
+        mMinValue = minValue;
+        mMaxValue = maxValue;
+        mWrap = wrap;
+    }
+
+    public int getMinValue() {
+        return mMinValue;
+    }
+
+    public int getMaxValue() {
+        return mMaxValue;
+    }
+
+    public boolean isWrap() {
+        return mWrap;
+    }
+
+    /**
+     * Sets the size of the items and the offset at which the selected one is centered,
+     * and moves the wheel there.
+     *
+     * @param elementSize   The size of an item including its gap.
+     * @param initialOffset The offset of the first item when the wheel is at rest.
+     */
+    public void setGeometry(int elementSize, int initialOffset) {
+        mElementSize = elementSize;
+        mInitialOffset = initialOffset;
+        mCurrentOffset = initialOffset;
+    }
+
+    public int getElementSize() {
+        return mElementSize;
+    }
+
+    public int getInitialOffset() {
+        return mInitialOffset;
+    }
+
+    public int getCurrentOffset() {
+        return mCurrentOffset;
+    }
+
+    /**
+     * Moves the wheel back to rest, the selected item centered.
+     */
+    public void resetOffset() {
+        mCurrentOffset = mInitialOffset;
+    }
+
+    /**
+     * @return The wrapped index <code>selectorIndex</code> value.
+     */
+    public int getWrappedIndex(int selectorIndex) {
+        if (selectorIndex > mMaxValue) {
+            return mMinValue + (selectorIndex - mMaxValue) % (mMaxValue - mMinValue) - 1;
+        } else if (selectorIndex < mMinValue) {
+            return mMaxValue - (mMinValue - selectorIndex) % (mMaxValue - mMinValue) + 1;
+        }
+        return selectorIndex;
+    }
+
+    /**
+     * @return The selector index following <code>selectorIndex</code> on the wheel.
+     */
+    public int getNextIndex(int selectorIndex) {
+        int nextSelectorIndex = selectorIndex + 1;
+        if (mWrap && nextSelectorIndex > mMaxValue) {
+            nextSelectorIndex = mMinValue;
+        }
+        return nextSelectorIndex;
+    }
+
+    /**
+     * @return The selector index preceding <code>selectorIndex</code> on the wheel.
+     */
+    public int getPreviousIndex(int selectorIndex) {
+        int previousSelectorIndex = selectorIndex - 1;
+        if (mWrap && previousSelectorIndex < mMinValue) {
+            previousSelectorIndex = mMaxValue;
+        }
+        return previousSelectorIndex;
+    }
+
+    /**
+     * @param position The position on the wheel, from 0 to {@link #getItemCount()} - 1.
+     * @return The selector index at the position.
+     */
+    public int getIndex(int position) {
+        return mIndices[position];
+    }
+
+    /**
+     * @return The selector index in the middle of the wheel.
+     */
+    public int getSelectedIndex() {
+        return mIndices[mMiddleItemIndex];
+    }
+
+    /**
+     * Fills the wheel around the given value.
+     *
+     * @param value The selected value.
+     */
+    public void fill(int value) {
+        for (int i = 0; i < mIndices.length; i++) {
+            int selectorIndex = value + (i - mMiddleItemIndex);
+            if (mWrap) {
+                selectorIndex = getWrappedIndex(selectorIndex);
+            }
+            mIndices[i] = selectorIndex;
+        }
+    }
+
+    /**
+     * Shifts the wheel by one toward the greater values, the new index enters at the
+     * last position.
+     *
+     * @return The index dropped from the first position.
+     */
+    public int shiftForward() {
+        final int droppedSelectorIndex = mIndices[0];
+        final int last = mIndices.length - 1;
+        final int nextSelectorIndex = getNextIndex(mIndices[last]);
+        System.arraycopy(mIndices, 1, mIndices, 0, last);
+        mIndices[last] = nextSelectorIndex;
+        return droppedSelectorIndex;
+    }
+
+    /**
+     * Shifts the wheel by one toward the smaller values, the new index enters at the
+     * first position.
+     *
+     * @return The index dropped from the last position.
+     */
+    public int shiftBackward() {
+        final int last = mIndices.length - 1;
+        final int droppedSelectorIndex = mIndices[last];
+        final int previousSelectorIndex = getPreviousIndex(mIndices[0]);
+        System.arraycopy(mIndices, 0, mIndices, 1, last);
+        mIndices[0] = previousSelectorIndex;
+        return droppedSelectorIndex;
+    }
+
+    /**
+     * Scrolls the wheel, unless it does not wrap and is already at the end it scrolls
+     * toward, in which case it is moved back to rest.
+     *
+     * @param delta     The distance, positive toward the start of the wheel.
+     * @param ascending Whether the values ascend along the wheel.
+     * @return False if the wheel is at its end and did not scroll.
+     */
+    public boolean offsetBy(int delta, boolean ascending) {
+        if (!mWrap && delta != 0) {
+            final int selectorIndex = getSelectedIndex();
+            final boolean towardMin = (delta > 0) == ascending;
+            if (towardMin ? selectorIndex <= mMinValue : selectorIndex >= mMaxValue) {
+                mCurrentOffset = mInitialOffset;
+                return false;
+            }
+        }
+        mCurrentOffset += delta;
+        return true;
+    }
+
+    /**
+     * Takes one item off the offset if the wheel scrolled past the gap toward its start.
+     * The front-end then shifts the indices, toward the smaller values if ascending, and
+     * calls {@link #endPositiveStep()}.
+     *
+     * @param gap The distance past which the wheel moves to the next item.
+     * @return True if a step was taken.
+     */
+    public boolean takePositiveStep(int gap) {
+        if (mCurrentOffset - mInitialOffset > gap) {
+            mCurrentOffset -= mElementSize;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Ends a step of {@link #takePositiveStep(int)}, stopping at the min of a wheel that
+     * does not wrap.
+     */
+    public void endPositiveStep() {
+        if (!mWrap && getSelectedIndex() < mMinValue) {
+            mCurrentOffset = mInitialOffset;
+        }
+    }
+
+    /**
+     * Adds one item to the offset if the wheel scrolled past the gap toward its end.
+     * The front-end then shifts the indices, toward the greater values if ascending, and
+     * calls {@link #endNegativeStep()}.
+     *
+     * @param gap The distance past which the wheel moves to the next item.
+     * @return True if a step was taken.
+     */
+    public boolean takeNegativeStep(int gap) {
+        if (mCurrentOffset - mInitialOffset < -gap) {
+            mCurrentOffset += mElementSize;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Ends a step of {@link #takeNegativeStep(int)}, stopping at the max of a wheel that
+     * does not wrap.
+     */
+    public void endNegativeStep() {
+        if (!mWrap && getSelectedIndex() > mMaxValue) {
+            mCurrentOffset = mInitialOffset;
+        }
+    }
+
+    /**
+     * @return The distance to scroll to center the closest item.
+     */
+    public int getAdjustDelta() {
+        return toClosestItem(mInitialOffset - mCurrentOffset);
+    }
+
+    /**
+     * @param amountToScroll The distance a scroll is going to move the wheel.
+     * @return The distance to add to the scroll so it ends with an item centered.
+     */
+    public int getOvershootAdjustment(int amountToScroll) {
+        return toClosestItem(mInitialOffset - (mCurrentOffset + amountToScroll) % mElementSize);
+    }
+
+    private int toClosestItem(int delta) {
+        if (Math.abs(delta) > mElementSize / 2) {
+            delta += (delta > 0) ? -mElementSize : mElementSize;
+        }
+        return delta;
+    }
+}
@@ -0,0 +1,52 @@
+package com.github.lany192.picker;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.time.Year;
+
+/**
+ * Checks {@link GregorianDateEngine} day by day against java.time from 1900 to 2100, the
+ * default range of the date pickers.
+ */
+public class GregorianDateEngineTest {
+    private static final int FIRST_YEAR = 1900;
+    private static final int LAST_YEAR = 2100;
+
+    private final GregorianDateEngine mEngine = GregorianDateEngine.getInstance();
+
+    @Test
+    public void leapYearsMatchJavaTime() {
+        for (int year = FIRST_YEAR; year <= LAST_YEAR; year++) {
+            assertEquals("year " + year, Year.isLeap(year), GregorianDateEngine.isLeapYear(year));
+        }
+    }
+
+    @Test
+    public void daysInMonthMatchJavaTime() {
+        for (int year = FIRST_YEAR; year <= LAST_YEAR; year++) {
+            for (int month = 0; month < 12; month++) {
+                assertEquals(year + "-" + (month + 1),
+                        LocalDate.of(year, month + 1, 1).lengthOfMonth(),
+                        mEngine.getDaysInMonth(year, month));
+            }
+        }
+    }
+
+    @Test
+    public void epochDaysMatchJavaTime() {
+        final int[] date = new int[3];
+        final LocalDate last = LocalDate.of(LAST_YEAR, 12, 31);
+        for (LocalDate day = LocalDate.of(FIRST_YEAR, 1, 1); !day.isAfter(last); day = day.plusDays(1)) {
+            final long epochDay = day.toEpochDay();
+            assertEquals(day.toString(), epochDay,
+                    mEngine.toEpochDay(day.getYear(), day.getMonthValue() - 1, day.getDayOfMonth()));
+            mEngine.fromEpochDay(epochDay, date);
+            assertEquals(day.toString(), day.getYear(), date[0]);
+            assertEquals(day.toString(), day.getMonthValue() - 1, date[1]);
+            assertEquals(day.toString(), day.getDayOfMonth(), date[2]);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.github.lany192.picker;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+/**
+ * A label whose bitmap does not fit the budget of {@link LabelBitmapCache} is not drawn
+ * from a bitmap, so the picker draws it as text.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 30)
+public class LabelBitmapCacheTest {
+
+    @Test
+    public void labelLargerThanBudgetIsNotDrawn() {
+        final LabelBitmapCache cache = new LabelBitmapCache(createPaint(), 1);
+        final Canvas canvas = createCanvas();
+        assertFalse(cache.drawText(canvas, "September", 50, 50));
+        assertFalse(cache.drawText(canvas, "September", 50, 50));
+    }
+
+    @Test
+    public void labelWithinBudgetIsDrawn() {
+        final LabelBitmapCache cache = new LabelBitmapCache(createPaint(), 1024 * 1024);
+        final Canvas canvas = createCanvas();
+        assertTrue(cache.drawText(canvas, "September", 50, 50));
+        // drawn again from the cached bitmap
+        assertTrue(cache.drawText(canvas, "September", 50, 50));
+    }
+
+    @Test
+    public void labelDrawnAfterShrinkingTheBudget() {
+        final LabelBitmapCache cache = new LabelBitmapCache(createPaint(), 1024 * 1024);
+        final Canvas canvas = createCanvas();
+        assertTrue(cache.drawText(canvas, "September", 50, 50));
+        cache.resize(1);
+        assertFalse(cache.drawText(canvas, "September", 50, 50));
+    }
+
+    private static Paint createPaint() {
+        final Paint paint = new Paint();
+        paint.setTextSize(40);
+        paint.setTextAlign(Paint.Align.CENTER);
+        return paint;
+    }
+
+    private static Canvas createCanvas() {
+        return new Canvas(Bitmap.createBitmap(100, 100, Bitmap.Config.ARGB_8888));
+    }
+}
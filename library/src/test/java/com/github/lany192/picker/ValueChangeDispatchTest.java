@@ -0,0 +1,166 @@
+package com.github.lany192.picker;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.robolectric.Shadows.shadowOf;
+
+import android.app.Activity;
+import android.os.Looper;
+import android.view.View;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The value changes merged by {@link NumberPicker#setValueChangeDispatch(int)}: crossed
+ * values are notified as one change per frame or once the wheel settles, wrapping around
+ * the range is never merged with other steps, and the pending change is notified before
+ * the value is changed programmatically.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 30)
+public class ValueChangeDispatchTest {
+    private Activity mActivity;
+    private final List<int[]> mChanges = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        mActivity = Robolectric.buildActivity(Activity.class).setup().get();
+    }
+
+    @Test
+    public void perFrameMergesTheStepsOfAFrame() {
+        final NumberPicker picker = createPicker(0, 59, NumberPicker.DISPATCH_PER_FRAME);
+        scrollToNextValue(picker);
+        scrollToNextValue(picker);
+        assertChanges();
+
+        runFrame();
+        assertChanges(0, 2);
+
+        scrollToNextValue(picker);
+        runFrame();
+        assertChanges(0, 2, 2, 3);
+    }
+
+    @Test
+    public void wrapIsNotifiedAsAStepOfItsOwn() {
+        final NumberPicker picker = createPicker(0, 5, NumberPicker.DISPATCH_ON_SETTLE);
+        picker.setValue(4);
+        scrollToNextValue(picker);
+        assertChanges();
+
+        scrollToNextValue(picker);
+        assertChanges(4, 5, 5, 0);
+    }
+
+    @Test
+    public void runAcrossTheRangeIsSplit() {
+        final NumberPicker picker = createPicker(0, 5, NumberPicker.DISPATCH_ON_SETTLE);
+        for (int i = 0; i < 5; i++) {
+            scrollToNextValue(picker);
+        }
+        assertEquals(5, picker.getValue());
+        assertChanges();
+
+        // one change from 0 to 5 would read as wrapping backwards
+        picker.setValueChangeDispatch(NumberPicker.DISPATCH_EVERY_STEP);
+        assertChanges(0, 4, 4, 5);
+    }
+
+    @Test
+    public void setValueNotifiesPendingChangeFirst() {
+        final NumberPicker picker = createPicker(0, 59, NumberPicker.DISPATCH_ON_SETTLE);
+        scrollToNextValue(picker);
+        scrollToNextValue(picker);
+        assertChanges();
+
+        picker.setValue(30);
+        assertChanges(0, 2);
+        assertEquals(30, picker.getValue());
+    }
+
+    @Test
+    public void setRangeNotifiesPendingChangeFirst() {
+        final NumberPicker picker = createPicker(0, 59, NumberPicker.DISPATCH_ON_SETTLE);
+        scrollToNextValue(picker);
+        picker.setRange(0, 23, null, false, 5);
+        assertChanges(0, 1);
+        assertEquals(5, picker.getValue());
+    }
+
+    @Test
+    public void scrollDayWhileMonthChangeIsPending() {
+        final DatePicker picker = new DatePicker(mActivity);
+        picker.setMinDate(new GregorianCalendar(2000, Calendar.JANUARY, 1).getTimeInMillis());
+        picker.setMaxDate(new GregorianCalendar(2100, Calendar.DECEMBER, 31).getTimeInMillis());
+        picker.init(2020, Calendar.MARCH, 15);
+        attach(picker);
+        final NumberPicker monthPicker = picker.findViewById(R.id.month);
+        final NumberPicker dayPicker = picker.findViewById(R.id.day);
+        // the month waits for the wheel to settle, which plain scrollBy calls never do
+        monthPicker.setValueChangeDispatch(NumberPicker.DISPATCH_ON_SETTLE);
+        picker.setOnChangedListener((view, year, month, dayOfMonth) ->
+                mChanges.add(new int[]{month, dayOfMonth}));
+
+        scrollToNextValue(monthPicker);
+        assertEquals(Calendar.MARCH, picker.getMonth());
+
+        scrollToNextValue(dayPicker);
+        assertEquals(2020, picker.getYear());
+        assertEquals(Calendar.APRIL, picker.getMonth());
+        assertEquals(16, picker.getDayOfMonth());
+        assertEquals(Calendar.APRIL, monthPicker.getValue());
+        assertEquals(16, dayPicker.getValue());
+        assertChanges(Calendar.APRIL, 15, Calendar.APRIL, 16);
+    }
+
+    private NumberPicker createPicker(int minValue, int maxValue, int dispatch) {
+        final NumberPicker picker = new NumberPicker(mActivity);
+        picker.setMinValue(minValue);
+        picker.setMaxValue(maxValue);
+        picker.setValueChangeDispatch(dispatch);
+        picker.setOnChangedListener((view, oldVal, newVal) -> mChanges.add(new int[]{oldVal, newVal}));
+        attach(picker);
+        return picker;
+    }
+
+    private void attach(View view) {
+        mActivity.setContentView(view);
+        shadowOf(Looper.getMainLooper()).idle();
+    }
+
+    private static void runFrame() {
+        shadowOf(Looper.getMainLooper()).idleFor(100, TimeUnit.MILLISECONDS);
+    }
+
+    private static void scrollToNextValue(NumberPicker picker) {
+        final int value = picker.getValue();
+        for (int i = 0; i < 1000 && picker.getValue() == value; i++) {
+            picker.scrollBy(0, -10);
+        }
+        assertEquals(value == picker.getMaxValue() ? picker.getMinValue() : value + 1, picker.getValue());
+    }
+
+    /**
+     * @param values The pairs of values of the expected changes.
+     */
+    private void assertChanges(int... values) {
+        final int[] actual = new int[mChanges.size() * 2];
+        for (int i = 0; i < mChanges.size(); i++) {
+            actual[2 * i] = mChanges.get(i)[0];
+            actual[2 * i + 1] = mChanges.get(i)[1];
+        }
+        assertArrayEquals(values, actual);
+    }
+}
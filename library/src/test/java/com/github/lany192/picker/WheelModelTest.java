@@ -0,0 +1,240 @@
+package com.github.lany192.picker;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+/**
+ * The wheel math of {@link WheelModel} on a wheel of five items showing 0..9, an item
+ * being 100 px with the selected one centered at an offset of -50 px.
+ */
+public class WheelModelTest {
+    private static final int ELEMENT_SIZE = 100;
+    private static final int INITIAL_OFFSET = -50;
+
+    @Test
+    public void fillWraps() {
+        final WheelModel wheel = createWheel(true);
+        wheel.fill(0);
+        assertIndices(wheel, 8, 9, 0, 1, 2);
+        assertEquals(0, wheel.getSelectedIndex());
+        wheel.fill(9);
+        assertIndices(wheel, 7, 8, 9, 0, 1);
+        assertEquals(9, wheel.getSelectedIndex());
+    }
+
+    @Test
+    public void fillWithoutWrapKeepsIndicesOutOfRange() {
+        final WheelModel wheel = createWheel(false);
+        wheel.fill(0);
+        assertIndices(wheel, -2, -1, 0, 1, 2);
+        wheel.fill(9);
+        assertIndices(wheel, 7, 8, 9, 10, 11);
+    }
+
+    @Test
+    public void shiftForwardWraps() {
+        final WheelModel wheel = createWheel(true);
+        wheel.fill(8);
+        assertEquals(6, wheel.shiftForward());
+        assertIndices(wheel, 7, 8, 9, 0, 1);
+        assertEquals(7, wheel.shiftForward());
+        assertIndices(wheel, 8, 9, 0, 1, 2);
+        assertEquals(0, wheel.getSelectedIndex());
+    }
+
+    @Test
+    public void shiftBackwardWraps() {
+        final WheelModel wheel = createWheel(true);
+        wheel.fill(1);
+        assertEquals(3, wheel.shiftBackward());
+        assertIndices(wheel, 8, 9, 0, 1, 2);
+        assertEquals(2, wheel.shiftBackward());
+        assertIndices(wheel, 7, 8, 9, 0, 1);
+        assertEquals(9, wheel.getSelectedIndex());
+    }
+
+    @Test
+    public void shiftWithoutWrapLeavesTheRange() {
+        final WheelModel wheel = createWheel(false);
+        wheel.fill(9);
+        assertEquals(7, wheel.shiftForward());
+        assertIndices(wheel, 8, 9, 10, 11, 12);
+        wheel.fill(0);
+        assertEquals(2, wheel.shiftBackward());
+        assertIndices(wheel, -3, -2, -1, 0, 1);
+    }
+
+    @Test
+    public void wrappedIndexAtBothEnds() {
+        final WheelModel wheel = createWheel(true);
+        assertEquals(0, wheel.getWrappedIndex(0));
+        assertEquals(9, wheel.getWrappedIndex(9));
+        assertEquals(0, wheel.getWrappedIndex(10));
+        assertEquals(1, wheel.getWrappedIndex(11));
+        assertEquals(9, wheel.getWrappedIndex(-1));
+        assertEquals(8, wheel.getWrappedIndex(-2));
+    }
+
+    @Test
+    public void nextAndPreviousIndexWrap() {
+        final WheelModel wheel = createWheel(true);
+        assertEquals(0, wheel.getNextIndex(9));
+        assertEquals(9, wheel.getPreviousIndex(0));
+        wheel.setRange(0, 9, false);
+        assertEquals(10, wheel.getNextIndex(9));
+        assertEquals(-1, wheel.getPreviousIndex(0));
+    }
+
+    @Test
+    public void offsetByStopsAtMinAscending() {
+        final WheelModel wheel = createWheel(false);
+        wheel.fill(0);
+        wheel.offsetBy(-10, true);
+        assertFalse(wheel.offsetBy(10, true));
+        assertEquals(INITIAL_OFFSET, wheel.getCurrentOffset());
+        assertTrue(wheel.offsetBy(-10, true));
+        assertEquals(INITIAL_OFFSET - 10, wheel.getCurrentOffset());
+    }
+
+    @Test
+    public void offsetByStopsAtMaxAscending() {
+        final WheelModel wheel = createWheel(false);
+        wheel.fill(9);
+        assertFalse(wheel.offsetBy(-10, true));
+        assertEquals(INITIAL_OFFSET, wheel.getCurrentOffset());
+        assertTrue(wheel.offsetBy(10, true));
+        assertEquals(INITIAL_OFFSET + 10, wheel.getCurrentOffset());
+    }
+
+    @Test
+    public void offsetByStopsAtMinDescending() {
+        final WheelModel wheel = createWheel(false);
+        wheel.fill(0);
+        assertFalse(wheel.offsetBy(-10, false));
+        assertEquals(INITIAL_OFFSET, wheel.getCurrentOffset());
+        assertTrue(wheel.offsetBy(10, false));
+        assertEquals(INITIAL_OFFSET + 10, wheel.getCurrentOffset());
+    }
+
+    @Test
+    public void offsetByStopsAtMaxDescending() {
+        final WheelModel wheel = createWheel(false);
+        wheel.fill(9);
+        assertFalse(wheel.offsetBy(10, false));
+        assertEquals(INITIAL_OFFSET, wheel.getCurrentOffset());
+        assertTrue(wheel.offsetBy(-10, false));
+        assertEquals(INITIAL_OFFSET - 10, wheel.getCurrentOffset());
+    }
+
+    @Test
+    public void offsetByNeverStopsWhenWrapping() {
+        final WheelModel wheel = createWheel(true);
+        wheel.fill(0);
+        assertTrue(wheel.offsetBy(10, true));
+        assertTrue(wheel.offsetBy(-20, false));
+        wheel.fill(9);
+        assertTrue(wheel.offsetBy(-10, true));
+        assertTrue(wheel.offsetBy(20, false));
+    }
+
+    @Test
+    public void stepsMoveTheOffsetByOneItem() {
+        final WheelModel wheel = createWheel(true);
+        wheel.fill(0);
+        wheel.offsetBy(-60, true);
+        assertTrue(wheel.takeNegativeStep(ELEMENT_SIZE / 2));
+        wheel.shiftForward();
+        wheel.endNegativeStep();
+        assertEquals(1, wheel.getSelectedIndex());
+        assertEquals(INITIAL_OFFSET + ELEMENT_SIZE - 60, wheel.getCurrentOffset());
+        assertFalse(wheel.takeNegativeStep(ELEMENT_SIZE / 2));
+        assertFalse(wheel.takePositiveStep(ELEMENT_SIZE / 2));
+
+        wheel.offsetBy(20, true);
+        assertTrue(wheel.takePositiveStep(ELEMENT_SIZE / 2));
+        wheel.shiftBackward();
+        wheel.endPositiveStep();
+        assertEquals(0, wheel.getSelectedIndex());
+        assertEquals(INITIAL_OFFSET - 40, wheel.getCurrentOffset());
+    }
+
+    @Test
+    public void stepPastMaxStopsAtRest() {
+        final WheelModel wheel = createWheel(false);
+        wheel.fill(8);
+        wheel.offsetBy(-60, true);
+        assertTrue(wheel.takeNegativeStep(ELEMENT_SIZE / 2));
+        wheel.shiftForward();
+        wheel.shiftForward();
+        wheel.endNegativeStep();
+        assertEquals(10, wheel.getSelectedIndex());
+        assertEquals(INITIAL_OFFSET, wheel.getCurrentOffset());
+    }
+
+    @Test
+    public void stepPastMinStopsAtRest() {
+        final WheelModel wheel = createWheel(false);
+        wheel.fill(1);
+        wheel.offsetBy(60, true);
+        assertTrue(wheel.takePositiveStep(ELEMENT_SIZE / 2));
+        wheel.shiftBackward();
+        wheel.shiftBackward();
+        wheel.endPositiveStep();
+        assertEquals(-1, wheel.getSelectedIndex());
+        assertEquals(INITIAL_OFFSET, wheel.getCurrentOffset());
+    }
+
+    @Test
+    public void adjustDeltaGoesToTheClosestItem() {
+        final WheelModel wheel = createWheel(true);
+        assertEquals(0, wheel.getAdjustDelta());
+        wheel.offsetBy(30, true);
+        assertEquals(-30, wheel.getAdjustDelta());
+        wheel.offsetBy(40, true);
+        assertEquals(30, wheel.getAdjustDelta());
+        wheel.resetOffset();
+        wheel.offsetBy(-70, true);
+        assertEquals(-30, wheel.getAdjustDelta());
+        wheel.resetOffset();
+        wheel.offsetBy(-50, true);
+        assertEquals(50, wheel.getAdjustDelta());
+    }
+
+    @Test
+    public void overshootAdjustmentEndsOnAnItem() {
+        final WheelModel wheel = createWheel(true);
+        assertEquals(0, wheel.getOvershootAdjustment(0));
+        assertEquals(-30, wheel.getOvershootAdjustment(230));
+        assertEquals(40, wheel.getOvershootAdjustment(260));
+        assertEquals(30, wheel.getOvershootAdjustment(-230));
+        assertEquals(-40, wheel.getOvershootAdjustment(-260));
+        for (int amount = -1000; amount <= 1000; amount++) {
+            final int end = wheel.getCurrentOffset() + amount + wheel.getOvershootAdjustment(amount);
+            assertEquals("amount " + amount, 0, Math.floorMod(end - INITIAL_OFFSET, ELEMENT_SIZE));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void itemCountMustBePositive() {
+        new WheelModel(0);
+    }
+
+    private static WheelModel createWheel(boolean wrap) {
+        final WheelModel wheel = new WheelModel(5);
+        wheel.setRange(0, 9, wrap);
+        wheel.setGeometry(ELEMENT_SIZE, INITIAL_OFFSET);
+        return wheel;
+    }
+
+    private static void assertIndices(WheelModel wheel, int... expected) {
+        final int[] indices = new int[wheel.getItemCount()];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = wheel.getIndex(i);
+        }
+        assertArrayEquals(expected, indices);
+    }
+}
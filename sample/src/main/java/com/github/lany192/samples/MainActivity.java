@@ -1,5 +1,6 @@
 package com.github.lany192.samples;
 
+import android.content.Intent;
 import android.graphics.Color;
 import android.os.Bundle;
 import android.widget.TextView;
@@ -22,6 +23,8 @@ public class MainActivity extends AppCompatActivity {
     protected void onCreate(@Nullable Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_main);
+        findViewById(R.id.startup_benchmark).setOnClickListener(v ->
+                startActivity(new Intent(this, StartupBenchmarkActivity.class)));
         NumberPicker numberPicker1 = findViewById(R.id.number_picker_1);
 
         TextView datePickerShowText = findViewById(R.id.date_picker_show_text);
@@ -0,0 +1,76 @@
+package com.github.lany192.samples;
+
+import android.os.Bundle;
+import android.view.LayoutInflater;
+import android.view.View;
+import android.widget.FrameLayout;
+import android.widget.TextView;
+
+import androidx.annotation.LayoutRes;
+import androidx.annotation.Nullable;
+import androidx.appcompat.app.AppCompatActivity;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Compares the time to create and measure the pickers when their layouts are inflated
+ * from XML and when they are built in code.
+ */
+public class StartupBenchmarkActivity extends AppCompatActivity {
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int ITERATIONS = 30;
+
+    private TextView mResultText;
+
+    @Override
+    protected void onCreate(@Nullable Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        mResultText = new TextView(this);
+        int padding = (int) (16 * getResources().getDisplayMetrics().density);
+        mResultText.setPadding(padding, padding, padding, padding);
+        mResultText.setText(R.string.startup_benchmark_running);
+        setContentView(mResultText);
+        // run once the activity is shown so its own startup is not measured
+        mResultText.post(this::runBenchmark);
+    }
+
+    private void runBenchmark() {
+        LayoutInflater inflater = getLayoutInflater();
+        FrameLayout parent = new FrameLayout(this);
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            createPickers(inflater, parent, R.layout.benchmark_pickers_inflated);
+            createPickers(inflater, parent, R.layout.benchmark_pickers_built);
+        }
+        long[] inflated = new long[ITERATIONS];
+        long[] built = new long[ITERATIONS];
+        // alternate the variants so both see the same state of the process
+        for (int i = 0; i < ITERATIONS; i++) {
+            inflated[i] = createPickers(inflater, parent, R.layout.benchmark_pickers_inflated);
+            built[i] = createPickers(inflater, parent, R.layout.benchmark_pickers_built);
+        }
+        mResultText.setText(new StringBuilder()
+                .append("NumberPicker, DatePicker, TimePicker, HourMinutePicker and DateTimePicker, ")
+                .append(ITERATIONS).append(" runs\n\n")
+                .append(format("Inflated layouts", inflated)).append('\n')
+                .append(format("Built in code", built)));
+    }
+
+    /**
+     * @return The nanoseconds to create and measure the pickers of the given layout.
+     */
+    private static long createPickers(LayoutInflater inflater, FrameLayout parent, @LayoutRes int layoutId) {
+        long start = System.nanoTime();
+        View view = inflater.inflate(layoutId, parent, false);
+        int spec = View.MeasureSpec.makeMeasureSpec(0, View.MeasureSpec.UNSPECIFIED);
+        view.measure(spec, spec);
+        return System.nanoTime() - start;
+    }
+
+    private static String format(String name, long[] times) {
+        long[] sorted = times.clone();
+        Arrays.sort(sorted);
+        return String.format(Locale.US, "%s: median %.2f ms, min %.2f ms, max %.2f ms", name,
+                sorted[sorted.length / 2] / 1e6, sorted[0] / 1e6, sorted[sorted.length - 1] / 1e6);
+    }
+}